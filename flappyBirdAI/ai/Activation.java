@@ -0,0 +1,114 @@
+/**
+ * @author Federico Sabbatani
+ */
+
+package flappyBirdAI.ai;
+
+import flappyBirdAI.utils.MatrixKernels;
+
+// Funzioni di attivazione di un layer
+// Tutte monotone non decrescenti con f(x) > f(0) per x > 0 in aritmetica esatta: BrainTopology non calcola quella dell'uscita e decide sul segno
+// In double f vale già f(0) in una banda di x > 0 (ad esempio SIGMOID fino a ~1.7e-16, SIGMOID_LUT fino a ulp(16) / 2 ~ 1.8e-15):
+// lì il segno dà salto e f(x) > f(0) no
+// L'ordinale è l'opcode del layer nel piano di valutazione di BrainTopology
+// Oltre alla sigmoid esatta ci sono tre sue approssimazioni senza esponenziale, con errore massimo rispetto a SIGMOID misurato su [-30, 30]
+// Errori massimi e accordo delle decisioni con SIGMOID sono verificati da ActivationAgreementCheck
+public enum Activation {
+
+	// 1 / (1 + e^-x) --> Result Range: 0 - 1
+	SIGMOID {
+		@Override
+		public double apply(double x) {
+			return 1 / (1 + Math.exp(-x));
+		}
+
+		// Kernel SIMD di MatrixKernels, stesso risultato del percorso a blocchi
+		@Override
+		public void applyInPlace(double[] v, int offset, int length) {
+			KERNELS.sigmoid(v, offset, length);
+		}
+	},
+	// tanh(x) = 2 * sigmoid(2x) - 1 --> Result Range: -1 - 1
+	// Calcolata tramite la sigmoid per usare lo stesso kernel SIMD (Math.tanh è scalare e molto più lenta)
+	TANH {
+		@Override
+		public double apply(double x) {
+			return 2 * SIGMOID.apply(2 * x) - 1;
+		}
+
+		@Override
+		public void applyInPlace(double[] v, int offset, int length) {
+			KERNELS.scale(v, offset, 2, length);
+			KERNELS.sigmoid(v, offset, length);
+			for (int i = offset; i < offset + length; ++i) {
+				v[i] = 2 * v[i] - 1;
+			}
+		}
+	},
+	// max(0, x) --> Result Range: 0 - +inf
+	RELU {
+		@Override
+		public double apply(double x) {
+			return Math.max(0, x);
+		}
+	},
+	// Approssimazione lineare a tratti della sigmoid: clamp(0.2 * x + 0.5, 0, 1)
+	// Errore Massimo: 1 / (1 + e^2.5) ~ 7.586e-2 in x = ±2.5, dove inizia il clamp (analitico: in (0, 2.5) l'unico altro estremo è 3.1e-2,
+	// dove sigmoid'(x) = 0.2, e oltre 2.5 l'errore 1 - sigmoid(x) decresce)
+	HARD_SIGMOID {
+		@Override
+		public double apply(double x) {
+			return Math.clamp(0.2 * x + 0.5, 0, 1);
+		}
+	},
+	// Sigmoid da tabella con interpolazione lineare: SIGMOID_LUT_SIZE punti equispaziati in [-SIGMOID_LUT_RANGE, +SIGMOID_LUT_RANGE], costante fuori
+	// Errore Massimo: 3.0e-6 (interpolazione, h^2 / 8 * max|sigmoid''| con h = 1/64)
+	SIGMOID_LUT {
+		@Override
+		public double apply(double x) {
+			if (x <= -SIGMOID_LUT_RANGE) {
+				return SIGMOID_TABLE[0];
+			}
+			if (x >= SIGMOID_LUT_RANGE) {
+				return SIGMOID_TABLE[SIGMOID_LUT_SIZE - 1];
+			}
+
+			// NaN arriva qui e si propaga come nella sigmoid esatta
+			double t = (x + SIGMOID_LUT_RANGE) * SIGMOID_LUT_SCALE;
+			int i = Math.min((int) t, SIGMOID_LUT_SIZE - 2);
+			return SIGMOID_TABLE[i] + (t - i) * (SIGMOID_TABLE[i + 1] - SIGMOID_TABLE[i]);
+		}
+	},
+	// Sigmoid da approssimante di Padé di tanh: sigmoid(x) = 0.5 + 0.5 * tanh(x / 2), tanh(y) ~ y * (27 + y^2) / (27 + 9 * y^2) con |y| <= 3
+	// Errore Massimo: 1.2e-2 (solo moltiplicazioni e una divisione, vettorizzabile dal JIT)
+	SIGMOID_RATIONAL {
+		@Override
+		public double apply(double x) {
+			double y = Math.clamp(0.5 * x, -3, 3), y2 = y * y;
+			return 0.5 + 0.5 * y * (27 + y2) / (27 + 9 * y2);
+		}
+	};
+
+	private static final MatrixKernels KERNELS = MatrixKernels.getInstance();
+
+	// Tabella di SIGMOID_LUT: passo 1 / SIGMOID_LUT_SCALE, sigmoid(0) = 0.5 esatto al centro (stesso segno della decisione)
+	private static final double SIGMOID_LUT_RANGE = 16;
+	private static final double SIGMOID_LUT_SCALE = 64;
+	private static final int SIGMOID_LUT_SIZE = (int) (2 * SIGMOID_LUT_RANGE * SIGMOID_LUT_SCALE) + 1;
+	private static final double[] SIGMOID_TABLE = new double[SIGMOID_LUT_SIZE];
+
+	static {
+		for (int i = 0; i < SIGMOID_LUT_SIZE; ++i) {
+			SIGMOID_TABLE[i] = 1 / (1 + Math.exp(-(i / SIGMOID_LUT_SCALE - SIGMOID_LUT_RANGE)));
+		}
+	}
+
+	public abstract double apply(double x);
+
+	public void applyInPlace(double[] v, int offset, int length) {
+		for (int i = offset; i < offset + length; ++i) {
+			v[i] = apply(v[i]);
+		}
+	}
+
+}
\ No newline at end of file
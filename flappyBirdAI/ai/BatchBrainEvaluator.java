@@ -0,0 +1,232 @@
+/**
+ * @author Federico Sabbatani
+ */
+
+package flappyBirdAI.ai;
+
+import flappyBirdAI.utils.MatrixKernels;
+import java.util.Arrays;
+import java.util.Objects;
+
+// Inferenza di tutta la popolazione in un unico passaggio a blocchi su array primitivi
+// Equivalente a BirdBrain.setInputs() + think() per ogni uccello: stesso piano di BrainTopology, stesso ordine delle somme e stesse attivazioni
+// Come BrainTopology.evaluate(), l'attivazione dell'ultimo layer è saltata e la decisione è il segno della pre-attivazione
+// Layout "uccello-minore": il peso w dell'uccello b è in weights[w * capacity + b] e la feature f in inputs[f * capacity + b],
+// così il ciclo interno scorre uccelli contigui (come un prodotto matrice x blocco 4xN, vettorizzabile dal JIT)
+public final class BatchBrainEvaluator {
+
+	// Uccelli per blocco: coincide con una parola del bitset dei vivi, così i blocchi vuoti si saltano interi
+	private static final int BLOCK_SIZE = 64;
+	private static final MatrixKernels KERNELS = MatrixKernels.getInstance();
+
+	private final BrainTopology topology;
+	private final int capacity;
+	private final double[] weights;
+	private final double[] inputs;
+	// Fattori della normalizzazione a intervalli fissi, uguali per tutti gli uccelli
+	private final double[] inputScales, inputOffsets;
+	private boolean hasInputRanges = false;
+	// Workspace usato da evaluate(size, vActiveWords)
+	private final Workspace defaultWorkspace;
+	// Bit b della parola b >> 6 a 1 se l'uccello b deve saltare
+	private final long[] jumpMask;
+
+	// Attivazioni del blocco corrente: [neurone * BLOCK_SIZE + uccello del blocco]
+	// Uno per thread quando porzioni diverse della popolazione sono valutate in parallelo
+	public static final class Workspace {
+
+		private final double[] actA, actB;
+
+		private Workspace(int size) {
+			actA = new double[size];
+			actB = new double[size];
+		}
+	}
+
+	public BatchBrainEvaluator(int capacity) throws IllegalArgumentException {
+		this(BrainTopology.DEFAULT, capacity);
+	}
+
+	// Piano di valutazione (layer, offset dei pesi, attivazioni) dalla topologia
+	public BatchBrainEvaluator(BrainTopology topology, int capacity) throws NullPointerException, IllegalArgumentException {
+		this.topology = Objects.requireNonNull(topology, "Brain Topology Cannot be Null");
+		if (capacity <= 0) {
+			throw new IllegalArgumentException("Evaluator Capacity Must be Greater than Zero");
+		}
+
+		this.capacity = capacity;
+		weights = new double[topology.getNWeights() * capacity];
+		inputs = new double[topology.getNInputs() * capacity];
+		inputScales = new double[topology.getNInputs()];
+		inputOffsets = new double[topology.getNInputs()];
+		defaultWorkspace = createWorkspace();
+		jumpMask = new long[(capacity + BLOCK_SIZE - 1) / BLOCK_SIZE];
+	}
+
+	// Copia i pesi del cervello nella colonna dell'uccello b (da ripetere se il cervello cambia)
+	public void loadWeights(int b, BirdBrain brain) throws NullPointerException, IllegalArgumentException {
+		Objects.requireNonNull(brain, "Bird Brain Cannot be Null");
+		requireSameTopology(brain.getTopology());
+		brain.copyWeightsTo(weights, b, capacity);
+	}
+
+	// Copia i pesi dello slot del pool nella colonna dell'uccello b
+	public void loadWeights(int b, GenomePool genomePool, int slot) throws NullPointerException, IllegalArgumentException {
+		Objects.requireNonNull(genomePool, "Genome Pool Cannot be Null");
+		requireSameTopology(genomePool.getTopology());
+		genomePool.copyWeightsTo(slot, weights, b, capacity);
+	}
+
+	private void requireSameTopology(BrainTopology otherTopology) throws IllegalArgumentException {
+		if (!topology.equals(otherTopology)) {
+			throw new IllegalArgumentException("Incompatible Brain Topology: Expected " + topology + ", Found " + otherTopology);
+		}
+	}
+
+	// Input grezzi (non normalizzati) dell'uccello b dello schema V1, memorizzati agli indici di InputSchema
+	public void setInputs(int b, double yBird, double vyBird, double yCenterTubeHole, double xDistBirdTube) {
+		inputs[InputSchema.VY_BIRD * capacity + b] = vyBird;
+		inputs[InputSchema.Y_BIRD * capacity + b] = yBird;
+		inputs[InputSchema.Y_CENTER_TUBE_HOLE * capacity + b] = yCenterTubeHole;
+		inputs[InputSchema.X_DIST_BIRD_TUBE * capacity + b] = xDistBirdTube;
+	}
+
+	// Input grezzi dell'uccello b nell'ordine dello schema della topologia (come BirdBrain.setInputs(double[]))
+	public void setInputs(int b, double[] vInputs) throws NullPointerException, IllegalArgumentException {
+		Objects.requireNonNull(vInputs, "Inputs Array Cannot be Null");
+		if (vInputs.length != topology.getNInputs()) {
+			throw new IllegalArgumentException("Incorrect Number of Inputs: Expected " + topology.getNInputs() + ", Found " + vInputs.length);
+		}
+
+		for (int f = 0; f < vInputs.length; ++f) {
+			inputs[f * capacity + b] = vInputs[f];
+		}
+	}
+
+	// Dimensioni del mondo per la normalizzazione a intervalli fissi (come BirdBrain.setInputRanges), da chiamare prima di evaluate()
+	public void setInputRanges(double gameWidth, double gameHeight, double maxBirdSpeed) throws IllegalArgumentException {
+		topology.getInputSchema().computeScales(gameWidth, gameHeight, maxBirdSpeed, inputScales, inputOffsets);
+		hasInputRanges = true;
+	}
+
+	public Workspace createWorkspace() {
+		return new Workspace(topology.getMaxWidth() * BLOCK_SIZE);
+	}
+
+	// Valuta tutti gli uccelli in [0, size) i cui blocchi hanno almeno un bit a 1 in vActiveWords
+	// Ritorna la maschera dei salti (array interno, da non modificare), valida fino alla prossima chiamata
+	public long[] evaluate(int size, long[] vActiveWords) throws NullPointerException, IllegalArgumentException, IllegalStateException {
+		return evaluate(0, jumpMask.length, size, vActiveWords, defaultWorkspace);
+	}
+
+	// Come evaluate(size, vActiveWords) ma solo per le parole [fromWord, toWord) della maschera
+	// Chiamate concorrenti sono sicure se gli intervalli sono disgiunti e ogni thread usa il proprio Workspace
+	public long[] evaluate(int fromWord, int toWord, int size, long[] vActiveWords, Workspace workspace) throws NullPointerException, IllegalArgumentException, IllegalStateException {
+		Objects.requireNonNull(vActiveWords, "Active Words Cannot be Null");
+		Objects.requireNonNull(workspace, "Workspace Cannot be Null");
+		if (!hasInputRanges && topology.getInputSchema().getNormalization() == InputSchema.Normalization.WORLD_RANGE) {
+			throw new IllegalStateException("Input Ranges Not Initialized");
+		}
+		if (size < 0 || size > capacity) {
+			throw new IllegalArgumentException("Size Must be Between 0 and " + capacity);
+		}
+		if (fromWord < 0 || fromWord > toWord || toWord > jumpMask.length) {
+			throw new IllegalArgumentException("Invalid Word Range: [" + fromWord + ", " + toWord + ")");
+		}
+
+		int nWords = Math.min(toWord, (size + BLOCK_SIZE - 1) / BLOCK_SIZE);
+		if (nWords < toWord) {
+			Arrays.fill(jumpMask, Math.max(fromWord, nWords), toWord, 0L);
+		}
+
+		for (int w = fromWord; w < nWords; ++w) {
+			if (vActiveWords[w] == 0) {
+				jumpMask[w] = 0L;
+				continue;
+			}
+
+			int base = w * BLOCK_SIZE;
+			jumpMask[w] = evaluateBlock(base, Math.min(BLOCK_SIZE, size - base), workspace);
+		}
+
+		return jumpMask;
+	}
+
+	private long evaluateBlock(int base, int n, Workspace workspace) {
+		double[] src = workspace.actA, dst = workspace.actB, tmp;
+		int nOutputLayer = topology.getNLayers() - 1;
+
+		normalizeBlock(base, n, src);
+
+		for (int l = 0; l < topology.getNLayers(); ++l) {
+			int nIn = topology.getLayerInputs(l), nOut = topology.getLayerOutputs(l), weightOffset = topology.getWeightOffset(l);
+			Activation activation = topology.getLayerActivation(l);
+
+			for (int r = 0; r < nOut; ++r) {
+				int dstBase = r * BLOCK_SIZE;
+				Arrays.fill(dst, dstBase, dstBase + n, 0.0);
+
+				// Stesso ordine delle somme di Matrix.multiply (k crescente), come nel percorso scalare
+				for (int k = 0; k < nIn; ++k) {
+					KERNELS.multiplyAdd(weights, (weightOffset + r * nIn + k) * capacity + base, src, k * BLOCK_SIZE, dst, dstBase, n);
+				}
+
+				if (l < nOutputLayer) {
+					activation.applyInPlace(dst, dstBase, n);
+				}
+			}
+
+			tmp = src;
+			src = dst;
+			dst = tmp;
+		}
+
+		// Pre-attivazione dell'unico neurone di output nelle prime n posizioni di src
+		long mask = 0L;
+		for (int b = 0; b < n; ++b) {
+			if (topology.isJump(src[b])) {
+				mask |= 1L << b;
+			}
+		}
+
+		return mask;
+	}
+
+	// Normalizzazione tra -1 e +1 dello schema della topologia (come BirdBrain.normalizeInputs)
+	private void normalizeBlock(int base, int n, double[] out) {
+		int nInputs = topology.getNInputs();
+
+		// Intervalli fissi: una scala e un offset per feature su uccelli contigui (ciclo senza salti, vettorizzabile dal JIT)
+		if (topology.getInputSchema().getNormalization() == InputSchema.Normalization.WORLD_RANGE) {
+			for (int f = 0; f < nInputs; ++f) {
+				double scale = inputScales[f], offset = inputOffsets[f];
+				int src = f * capacity + base, dst = f * BLOCK_SIZE;
+
+				for (int b = 0; b < n; ++b) {
+					out[dst + b] = inputs[src + b] * scale + offset;
+				}
+			}
+			return;
+		}
+
+		// Min e max degli input di ogni uccello
+		for (int b = 0; b < n; ++b) {
+			double min = inputs[base + b], max = min;
+
+			for (int f = 1; f < nInputs; ++f) {
+				double v = inputs[f * capacity + base + b];
+				min = Math.min(min, v);
+				max = Math.max(max, v);
+			}
+
+			for (int f = 0; f < nInputs; ++f) {
+				out[f * BLOCK_SIZE + b] = 2 * ((inputs[f * capacity + base + b] - min) / (max - min)) - 1;
+			}
+		}
+	}
+
+	public int getCapacity() {
+		return capacity;
+	}
+
+}
\ No newline at end of file
@@ -15,14 +15,11 @@ import com.google.gson.reflect.TypeToken;
 import java.lang.reflect.Type;
 import java.io.Serializable;
 import java.util.List;
-import java.util.Set;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
 import java.util.Random;
 import java.util.StringJoiner;
 
@@ -33,14 +30,21 @@ public class BirdBrain implements Serializable {
 	// Random condiviso per tutte le operazioni di mutazione
 	private static final Random RANDOM = new Random();
 	
-	public static final Set<String> V_INPUT_KEYS = Set.of("yBird", "vyBird", "yCenterTubeHole", "xDistBirdTube");
-    public static final int NUM_INPUT = V_INPUT_KEYS.size();
+    // Struttura della rete di default (BrainTopology.DEFAULT), configurabile per cervello con BrainTopology
+    public static final List<Integer> V_NEURONS = List.of(4, 4, 1);
+    public static final int NUM_LAYERS = V_NEURONS.size();
 
-    private static final List<Integer> V_NEURONS = List.of(4, 4, 1);
-    private static final int NUM_LAYERS = V_NEURONS.size();
-
-    private static final int WEIGHT_MAX_VALUE = 1, WEIGHT_MIN_VALUE = -1;
-    private static final double WEIGHT_UPDATE_STEP = 0.0001;
+    // Package-private per GenomePool (stessa inizializzazione e mutazione sui genomi piatti)
+    static final int WEIGHT_MAX_VALUE = 1, WEIGHT_MIN_VALUE = -1;
+    // Passo minimo della mutazione (era il passo fisso: limite inferiore di sigma per non fermare la ricerca)
+    static final double WEIGHT_UPDATE_STEP = 0.0001;
+    
+    // Mutazione gaussiana con sigma auto-adattivo (log-normale): sigma' = sigma * exp(tau * N(0, 1)), poi w += sigma' * N(0, 1)
+    // Il tasso di apprendimento tau dipende dal numero di pesi (BrainTopology)
+    public static final double DEFAULT_MUTATION_SIGMA = 0.1, MAX_MUTATION_SIGMA = 1;
+    
+    // Passi di fisica tra due decisioni (1 = una decisione per passo, come prima dell'action repeat)
+    public static final int DEFAULT_DECISION_INTERVAL = 1, MAX_DECISION_INTERVAL = 64;
     
     // Converte una stringa JSON in un BirdBrain
   	public static BirdBrain fromJson(String json) throws NullPointerException, BadFileFormatException {
@@ -58,164 +62,312 @@ public class BirdBrain implements Serializable {
     	Objects.requireNonNull(brainJson, "JSON Object Cannot be Null");
     	
 	    // Validazione parametri del cervello
-	    int jsonNInputs = brainJson.get("nInputs").getAsInt();
-	    if (jsonNInputs != NUM_INPUT) {
-	        throw new BadFileFormatException("Incompatible Input Size: Expected " + NUM_INPUT + ", Found " + jsonNInputs);
-	    }
-	    
 	    Gson gson = new Gson();
 	    Type typeStringList = new TypeToken<List<String>>() {}.getType();
 	    List<String> jsonInputKeys = gson.fromJson(brainJson.get("inputKeys"), typeStringList);
 	    
-	    // Converte List a Set per il confronto con V_INPUT_KEYS
-	    if (!new HashSet<>(jsonInputKeys).equals(V_INPUT_KEYS)) {
-	        throw new BadFileFormatException("Incompatible Input Keys");
+	    InputSchema jsonInputSchema;
+	    if (brainJson.has("inputSchemaVersion")) {
+	    	int jsonSchemaVersion = brainJson.get("inputSchemaVersion").getAsInt();
+	    	jsonInputSchema = InputSchema.fromVersion(jsonSchemaVersion)
+	    			.orElseThrow(() -> new BadFileFormatException("Unknown Input Schema Version: " + jsonSchemaVersion));
+	    	if (!jsonInputSchema.getFeatures().equals(jsonInputKeys)) {
+	    		throw new BadFileFormatException("Input Keys Do Not Match " + jsonInputSchema);
+	    	}
+	    } else {
+	    	// File senza versione: chiavi salvate da un Set (ordine qualsiasi), pesi sempre nell'ordine di V1
+	    	if (!new HashSet<>(jsonInputKeys).equals(new HashSet<>(InputSchema.V1.getFeatures()))) {
+	    		throw new BadFileFormatException("Incompatible Input Keys");
+	    	}
+	    	jsonInputSchema = InputSchema.V1;
+	    }
+	    // Il cervello mantiene il proprio schema: i file V1 continuano a usare la normalizzazione per uccello
+	    
+	    int jsonNInputs = brainJson.get("nInputs").getAsInt();
+	    if (jsonNInputs != jsonInputSchema.size()) {
+	        throw new BadFileFormatException("Incompatible Input Size: Expected " + jsonInputSchema.size() + ", Found " + jsonNInputs);
 	    }
 	    
 	    Type typeIntegerList = new TypeToken<List<Integer>>() {}.getType();
 	    List<Integer> jsonNNeurons = gson.fromJson(brainJson.get("nNeurons"), typeIntegerList);
-	    if (!jsonNNeurons.equals(V_NEURONS)) {
-	        throw new BadFileFormatException("Incompatible Neural Network Structure");
+	    
+	    // Assenti nei file salvati prima delle attivazioni configurabili: tutte sigmoid
+	    List<Activation> jsonActivations = new ArrayList<>(jsonNNeurons.size());
+	    if (brainJson.has("activations")) {
+	    	Type typeActivationList = new TypeToken<List<Activation>>() {}.getType();
+	    	jsonActivations.addAll(gson.fromJson(brainJson.get("activations"), typeActivationList));
+	    	if (jsonActivations.contains(null)) {
+	    		throw new BadFileFormatException("Unknown Activation in " + brainJson.get("activations"));
+	    	}
+	    } else {
+	    	jsonActivations.addAll(Collections.nCopies(jsonNNeurons.size(), Activation.SIGMOID));
+	    }
+	    
+	    BrainTopology topology;
+	    try {
+	    	topology = new BrainTopology(jsonInputSchema, jsonNNeurons, jsonActivations);
+	    } catch (IllegalArgumentException e) {
+	    	throw new BadFileFormatException("Incompatible Neural Network Structure: " + e.getMessage(), e);
 	    }
 	    
 	    // Creare nuovo cervello per template
-	    BirdBrain tempBrain = new BirdBrain();
-	    tempBrain.vmWeights.clear();
+	    BirdBrain tempBrain = new BirdBrain(topology);
 	    
 	    JsonArray weightsArray = brainJson.getAsJsonArray("weights");
+	    if (weightsArray.size() != topology.getNLayers()) {
+	    	throw new BadFileFormatException("Incompatible Number of Weight Matrices: Expected " + topology.getNLayers() + ", Found " + weightsArray.size());
+	    }
 	    for (int i = 0; i < weightsArray.size(); ++i) {
-	        JsonObject matrixJson = weightsArray.get(i).getAsJsonObject();
-	        tempBrain.vmWeights.add(Matrix.fromJson(matrixJson));
+	        Matrix mWeight = Matrix.fromJson(weightsArray.get(i).getAsJsonObject());
+	        if (mWeight.getNRows() != topology.getLayerOutputs(i) || mWeight.getNCols() != topology.getLayerInputs(i)) {
+	        	throw new BadFileFormatException("Incompatible Weights Size in Layer " + (i + 1));
+	        }
+	        mWeight.copyTo(tempBrain.vWeights, topology.getWeightOffset(i));
+	    }
+	    
+	    // Assente nei file salvati prima della mutazione auto-adattiva
+	    if (brainJson.has("mutationSigma")) {
+	    	double jsonMutationSigma = brainJson.get("mutationSigma").getAsDouble();
+	    	if (!(jsonMutationSigma >= WEIGHT_UPDATE_STEP && jsonMutationSigma <= MAX_MUTATION_SIGMA)) {
+	    		throw new BadFileFormatException("Invalid Mutation Sigma: " + jsonMutationSigma);
+	    	}
+	    	tempBrain.mutationSigma = jsonMutationSigma;
 	    }
 	    
-	    return new BirdBrain(tempBrain);
+	    // Assente nei file salvati prima dell'action repeat: una decisione per passo
+	    if (brainJson.has("decisionInterval")) {
+	    	int jsonDecisionInterval = brainJson.get("decisionInterval").getAsInt();
+	    	if (jsonDecisionInterval < 1 || jsonDecisionInterval > MAX_DECISION_INTERVAL) {
+	    		throw new BadFileFormatException("Invalid Decision Interval: " + jsonDecisionInterval);
+	    	}
+	    	tempBrain.decisionInterval = jsonDecisionInterval;
+	    }
+	    
+	    return tempBrain;
+	}
+	
+	// Nuovo sigma di un genoma mutato, limitato a [WEIGHT_UPDATE_STEP, MAX_MUTATION_SIGMA]
+	static double adaptMutationSigma(double sigma, double tau, Random random) {
+		return Math.clamp(sigma * Math.exp(tau * random.nextGaussian()), WEIGHT_UPDATE_STEP, MAX_MUTATION_SIGMA);
+	}
+	
+	// Peso w spostato di sigma * N(0, 1), riflesso nei limiti se ne esce (come l'inversione del vecchio passo fisso)
+	static double mutateWeight(double w, double sigma, Random random) {
+		w += sigma * random.nextGaussian();
+		
+		if (w > WEIGHT_MAX_VALUE) {
+			w = 2 * WEIGHT_MAX_VALUE - w;
+		} else if (w < WEIGHT_MIN_VALUE) {
+			w = 2 * WEIGHT_MIN_VALUE - w;
+		}
+		
+		return Math.clamp(w, WEIGHT_MIN_VALUE, WEIGHT_MAX_VALUE);
 	}
 
-    private final List<Matrix> vmWeights = new ArrayList<>(NUM_LAYERS);
-    private Optional<Matrix> mInputsOpt = Optional.empty();
+    private final BrainTopology topology;
+    // Pesi di tutti i layer in un unico array, nell'ordine del piano di valutazione (layer, riga, colonna)
+    private final double[] vWeights;
+    
+    // Buffer preallocati per un percorso di inferenza senza allocazioni (un insieme per cervello)
+    // Input normalizzati nell'ordine dello schema della topologia
+    private final double[] vInputs;
+    // Fattori della normalizzazione a intervalli fissi (InputSchema.Normalization.WORLD_RANGE), impostati da setInputRanges()
+    private final double[] vInputScales, vInputOffsets;
+    private boolean hasInputRanges = false;
+    // Attivazioni dei layer, alternate tra i due buffer
+    private final double[] vActA, vActB;
+    private boolean hasInputs = false;
+    // Passo di mutazione di questo genoma, evolve insieme ai pesi
+    private double mutationSigma = DEFAULT_MUTATION_SIGMA;
+    // Passi di fisica tra due decisioni con cui il cervello è stato addestrato: il mondo che lo esegue ripete l'ultima azione nel mezzo
+    private int decisionInterval = DEFAULT_DECISION_INTERVAL;
 
     public BirdBrain() {
-        setRandomWeights();
+        this(RANDOM);
+    }
+    
+    // Pesi iniziali estratti da random (es. un Random con seed per ogni isola di addestramento)
+    public BirdBrain(Random random) throws NullPointerException {
+    	this(BrainTopology.DEFAULT, random);
+    }
+    
+    public BirdBrain(BrainTopology topology, Random random) throws NullPointerException {
+    	this(topology);
+    	setRandomWeights(Objects.requireNonNull(random, "Random Cannot be Null"));
+    }
+    
+    // Pesi a zero
+    private BirdBrain(BrainTopology topology) throws NullPointerException {
+    	this.topology = Objects.requireNonNull(topology, "Brain Topology Cannot be Null");
+    	vWeights = new double[topology.getNWeights()];
+    	vInputs = new double[topology.getNInputs()];
+    	vInputScales = new double[topology.getNInputs()];
+    	vInputOffsets = new double[topology.getNInputs()];
+    	vActA = new double[topology.getMaxWidth()];
+    	vActB = new double[topology.getMaxWidth()];
+    }
+    
+    // Pesi e sigma letti da genome a partire da genomeIndex, nell'ordine di copyGenomeTo
+    public static BirdBrain fromGenome(double[] genome, int genomeIndex) throws NullPointerException, IndexOutOfBoundsException {
+    	return fromGenome(BrainTopology.DEFAULT, genome, genomeIndex);
+    }
+    
+    public static BirdBrain fromGenome(BrainTopology topology, double[] genome, int genomeIndex) throws NullPointerException, IndexOutOfBoundsException {
+    	Objects.requireNonNull(genome, "Genome Cannot be Null");
+    	BirdBrain brain = new BirdBrain(topology);
+    	brain.copyGenomeFrom(genome, genomeIndex);
+    	return brain;
+    }
+    
+    // Sovrascrive pesi e sigma con il genoma letto da genomeIndex (stessa topologia), riutilizzando i buffer del cervello
+    public void copyGenomeFrom(double[] genome, int genomeIndex) throws NullPointerException, IndexOutOfBoundsException {
+    	Objects.requireNonNull(genome, "Genome Cannot be Null");
+    	Objects.checkFromIndexSize(genomeIndex, topology.getGenomeSize(), genome.length);
+    	
+    	System.arraycopy(genome, genomeIndex, vWeights, 0, vWeights.length);
+    	mutationSigma = genome[genomeIndex + vWeights.length];
     }
     
     public BirdBrain(BirdBrain otherBrain) throws NullPointerException {
-    	Objects.requireNonNull(otherBrain, "Brain Not Initialized");
-
-    	for (Matrix otherMatrix : otherBrain.vmWeights) {
-            Matrix newMatrix = new Matrix(otherMatrix.getNRows(), otherMatrix.getNCols());
-            for (int i = 0; i < otherMatrix.getNRows(); ++i) {
-                for (int j = 0; j < otherMatrix.getNCols(); ++j) {
-                    newMatrix.set(i, j, otherMatrix.get(i, j));
-                }
-            }
-            vmWeights.add(newMatrix);
-        }
+    	this(Objects.requireNonNull(otherBrain, "Brain Not Initialized").topology);
+    	System.arraycopy(otherBrain.vWeights, 0, vWeights, 0, vWeights.length);
+    	mutationSigma = otherBrain.mutationSigma;
+    	decisionInterval = otherBrain.decisionInterval;
 	}
 
-    // Normalizzazione dei Valori di Input Tra -1 e +1
-    private Map<String, Double> normalize(Map<String, Double> list) {
-        Map<String, Double>  normalizedList = new HashMap<>(list.size());
+    // Dimensioni del mondo per la normalizzazione a intervalli fissi (da ripetere se la finestra cambia), ignorate dagli schemi per uccello
+    public void setInputRanges(double gameWidth, double gameHeight, double maxBirdSpeed) throws IllegalArgumentException {
+    	topology.getInputSchema().computeScales(gameWidth, gameHeight, maxBirdSpeed, vInputScales, vInputOffsets);
+    	hasInputRanges = true;
+    }
 
+    // Normalizzazione dei Valori di Input Tra -1 e +1 (in place, senza boxing), come indicato dallo schema
+    private void normalizeInputs() throws IllegalStateException {
+    	int nInputs = vInputs.length;
+    	
+    	if (topology.getInputSchema().getNormalization() == InputSchema.Normalization.WORLD_RANGE) {
+    		if (!hasInputRanges) {
+    			throw new IllegalStateException("Input Ranges Not Initialized");
+    		}
+    		for (int i = 0; i < nInputs; ++i) {
+    			vInputs[i] = vInputs[i] * vInputScales[i] + vInputOffsets[i];
+    		}
+    		return;
+    	}
+    	
         // Ottenere Valore Massimo e Minimo da Lista di Input
-        double max = Collections.max(list.values());
-        double min = Collections.min(list.values());
+        double max = vInputs[0], min = max;
+        for (int i = 1; i < nInputs; ++i) {
+        	max = Math.max(max, vInputs[i]);
+        	min = Math.min(min, vInputs[i]);
+        }
 
         // Normalizzare i Valori di Input Tra -1 e +1
-        for (Map.Entry<String, Double> entry : list.entrySet()) {
-            normalizedList.put(entry.getKey(), 2 * ((entry.getValue() - min) / (max - min)) - 1);
+        for (int i = 0; i < nInputs; ++i) {
+        	vInputs[i] = 2 * ((vInputs[i] - min) / (max - min)) - 1;
         }
-
-        return normalizedList;
-    }
-
-    // Funzione di Attivazione (Sigmoid) --> Result Range: 0 - 1
-    private double sigmoid(double x) {
-        return 1 / (1 + Math.exp(-x));
     }
 
-    public void setInputs(Map<String, Double> vInputs) throws NullPointerException, IllegalArgumentException {
-    	Objects.requireNonNull(vInputs, "Inputs Map Cannot be Null");
-    	if (vInputs.size() != NUM_INPUT) {
-            throw new IllegalArgumentException("Incorrect Number of Inputs");
+    // Input grezzi nell'ordine dello schema della topologia (indici InputSchema.VY_BIRD, ...), copiati: vInputs resta del chiamante
+    public void setInputs(double[] vInputs) throws NullPointerException, IllegalArgumentException, IllegalStateException {
+    	Objects.requireNonNull(vInputs, "Inputs Array Cannot be Null");
+    	if (vInputs.length != this.vInputs.length) {
+            throw new IllegalArgumentException("Incorrect Number of Inputs: Expected " + this.vInputs.length + ", Found " + vInputs.length);
         }
     	
-        for (String key : vInputs.keySet()) {
-            if (!V_INPUT_KEYS.contains(key)) {
-                throw new IllegalArgumentException("Incorrect Input Key: " + key);
-            }
-        }
-
-        // Normalizzazione degli Input
-        Map<String, Double> vInputsNormalized = normalize(vInputs);
-
-        // Creazione Matrice degli Input
-        mInputsOpt = Optional.of(new Matrix(vInputs.size(), 1));
-        int i = 0;
-        for (Map.Entry<String, Double> entry : vInputsNormalized.entrySet()) {
-            mInputsOpt.get().set(i, 0, entry.getValue());
-            ++i;
-        }
+    	System.arraycopy(vInputs, 0, this.vInputs, 0, vInputs.length);
+    	
+    	// Normalizzazione degli Input
+    	normalizeInputs();
+    	hasInputs = true;
+    }
+    
+    // Input degli schemi V1 e V2 per nome, nessun boxing e nessuna allocazione
+    public void setInputs(double yBird, double vyBird, double yCenterTubeHole, double xDistBirdTube) throws IllegalStateException {
+    	vInputs[InputSchema.VY_BIRD] = vyBird;
+    	vInputs[InputSchema.Y_BIRD] = yBird;
+    	vInputs[InputSchema.Y_CENTER_TUBE_HOLE] = yCenterTubeHole;
+    	vInputs[InputSchema.X_DIST_BIRD_TUBE] = xDistBirdTube;
+    	
+    	// Normalizzazione degli Input
+    	normalizeInputs();
+    	hasInputs = true;
     }
 
-    private void setRandomWeights() {
-        int nRows, nCols;
-        
-        // Creazione Lista di Matrici dei Pesi
-        for (int i = 0; i < NUM_LAYERS; ++i) {
-            nRows = V_NEURONS.get(i);
-            nCols = i > 0 ? V_NEURONS.get(i - 1) : NUM_INPUT;
-            vmWeights.add(new Matrix(nRows, nCols));
-            for (int j = 0; j < vmWeights.get(i).getNRows(); ++j) {
-                for (int k = 0; k < vmWeights.get(i).getNCols(); ++k) {
-                    vmWeights.get(i).set(j, k, WEIGHT_MIN_VALUE + (WEIGHT_MAX_VALUE - WEIGHT_MIN_VALUE) * RANDOM.nextDouble());
-                }
-            }
+    // Stesso ordine di estrazione della vecchia lista di matrici (layer, riga, colonna)
+    private void setRandomWeights(Random random) {
+        for (int i = 0; i < vWeights.length; ++i) {
+        	vWeights[i] = WEIGHT_MIN_VALUE + (WEIGHT_MAX_VALUE - WEIGHT_MIN_VALUE) * random.nextDouble();
         }
-
     }
 
     public void updateWeights() {
-        double updateWeightValue;
-
-        for (Matrix mWeight : vmWeights) {
-            for (int j = 0; j < mWeight.getNRows(); ++j) {
-                for (int k = 0; k < mWeight.getNCols(); ++k) {
-
-                    if (RANDOM.nextInt(0, 1 + 1) == 1) {
-                        updateWeightValue = -WEIGHT_UPDATE_STEP;
-                    } else {
-                        updateWeightValue = WEIGHT_UPDATE_STEP;
-                    }
+    	updateWeights(RANDOM);
+    }
+    
+    public void updateWeights(Random random) throws NullPointerException {
+    	Objects.requireNonNull(random, "Random Cannot be Null");
 
-                    if (mWeight.get(j, k) + updateWeightValue > WEIGHT_MAX_VALUE || mWeight.get(j, k) + updateWeightValue < WEIGHT_MIN_VALUE) {
-                        updateWeightValue = -updateWeightValue;
-                    }
+    	// Prima sigma, poi i pesi con il nuovo sigma: un passo che produce figli migliori sopravvive con loro
+    	mutationSigma = adaptMutationSigma(mutationSigma, topology.getMutationSigmaTau(), random);
 
-                    mWeight.set(j, k, mWeight.get(j, k) + updateWeightValue);
-                }
-            }
+        for (int i = 0; i < vWeights.length; ++i) {
+        	vWeights[i] = mutateWeight(vWeights[i], mutationSigma, random);
         }
     }
+    
+    // Genoma piatto (topology.getGenomeSize() valori): pesi come copyWeightsTo(dst, dstIndex, 1), poi sigma
+    public void copyGenomeTo(double[] dst, int dstIndex) throws NullPointerException {
+    	copyWeightsTo(dst, dstIndex, 1);
+    	dst[dstIndex + vWeights.length] = mutationSigma;
+    }
+    
+    public BrainTopology getTopology() {
+    	return topology;
+    }
+    
+    public double getMutationSigma() {
+    	return mutationSigma;
+    }
+    
+    public int getDecisionInterval() {
+    	return decisionInterval;
+    }
+    
+    public void setDecisionInterval(int decisionInterval) throws IllegalArgumentException {
+    	if (decisionInterval < 1 || decisionInterval > MAX_DECISION_INTERVAL) {
+    		throw new IllegalArgumentException("Decision Interval Must be Between 1 and " + MAX_DECISION_INTERVAL);
+    	}
+    	this.decisionInterval = decisionInterval;
+    }
 
-    public boolean think() throws NullPointerException, IllegalArgumentException {
-    	if (mInputsOpt.isEmpty()) {
-			throw new NullPointerException("Inputs Not Initialized");
-		}
-		Matrix mInputs = mInputsOpt.get();
+    // Copia tutti i pesi (layer per layer, riga per riga) in dst a partire da dstIndex, con passo stride tra pesi consecutivi
+    public void copyWeightsTo(double[] dst, int dstIndex, int stride) throws NullPointerException {
+    	Objects.requireNonNull(dst, "Destination Array Cannot be Null");
     	
-    	if (vmWeights.isEmpty()) {
-            throw new IllegalArgumentException("Weights Not Initialized");
-        }
-
-        Matrix tempInputs = mInputs, tempResult = null;
+    	if (stride == 1) {
+    		System.arraycopy(vWeights, 0, dst, dstIndex, vWeights.length);
+    		return;
+    	}
+    	
+    	for (double weight : vWeights) {
+    		dst[dstIndex] = weight;
+    		dstIndex += stride;
+    	}
+    }
 
-        for (int i = 0; i < NUM_LAYERS; ++i) {
-        	tempResult = vmWeights.get(i).multiply(tempInputs);
-            tempResult = tempResult.applyFunction(this::sigmoid);
-            tempInputs = tempResult;
-        }
+    // Inferenza con il piano di valutazione della topologia nei buffer preallocati del cervello, nessuna allocazione
+    public boolean think() throws NullPointerException {
+    	if (!hasInputs) {
+			throw new NullPointerException("Inputs Not Initialized");
+		}
 
-        return tempResult.get(0, 0) > 0.5;
+        return topology.isJump(topology.evaluate(vWeights, 0, vInputs, vActA, vActB));
+    }
+    
+    // Pesi del layer come matrice (uscite x ingressi), copia per serializzazione e stampa
+    private Matrix getLayerWeights(int layer) {
+    	return new Matrix(topology.getLayerOutputs(layer), topology.getLayerInputs(layer)).copyFrom(vWeights, topology.getWeightOffset(layer));
     }
     
     public String toJson() {
@@ -228,17 +380,21 @@ public class BirdBrain implements Serializable {
         Gson gson = new Gson();
         JsonObject brainJson = new JsonObject();
         
-        brainJson.addProperty("nInputs", NUM_INPUT);
-        brainJson.add("inputKeys", gson.toJsonTree(V_INPUT_KEYS));
-        brainJson.add("nNeurons", gson.toJsonTree(V_NEURONS));
-        brainJson.addProperty("nLayers", NUM_LAYERS);
+        brainJson.addProperty("nInputs", topology.getNInputs());
+        brainJson.addProperty("inputSchemaVersion", topology.getInputSchema().getVersion());
+        brainJson.add("inputKeys", gson.toJsonTree(topology.getInputSchema().getFeatures()));
+        brainJson.add("nNeurons", gson.toJsonTree(topology.getNeurons()));
+        brainJson.addProperty("nLayers", topology.getNLayers());
+        brainJson.add("activations", gson.toJsonTree(topology.getActivations()));
         brainJson.addProperty("maxValue", WEIGHT_MAX_VALUE);
         brainJson.addProperty("minValue", WEIGHT_MIN_VALUE);
         brainJson.addProperty("updateWeightABSValue", WEIGHT_UPDATE_STEP);
+        brainJson.addProperty("mutationSigma", mutationSigma);
+        brainJson.addProperty("decisionInterval", decisionInterval);
         
         JsonArray weightsArray = new JsonArray();
-        for (Matrix m : vmWeights) {
-            weightsArray.add(m.toJson());
+        for (int i = 0; i < topology.getNLayers(); ++i) {
+            weightsArray.add(getLayerWeights(i).toJson());
         }
         brainJson.add("weights", weightsArray);
         
@@ -247,7 +403,7 @@ public class BirdBrain implements Serializable {
     
     @Override
 	public int hashCode() {
-		return Objects.hash(mInputsOpt.get(), vmWeights);
+		return Objects.hash(topology, Arrays.hashCode(vInputs), Arrays.hashCode(vWeights), mutationSigma, decisionInterval);
 	}
 
 	@Override
@@ -263,15 +419,16 @@ public class BirdBrain implements Serializable {
 		}
 		
 		BirdBrain other = (BirdBrain) obj;
-		return Objects.equals(mInputsOpt.get(), other.mInputsOpt.get()) && Objects.equals(vmWeights, other.vmWeights);
+		return topology.equals(other.topology) && Arrays.equals(vInputs, other.vInputs) && Arrays.equals(vWeights, other.vWeights)
+				&& Double.compare(mutationSigma, other.mutationSigma) == 0 && decisionInterval == other.decisionInterval;
 	}
 
 	@Override
     public String toString() {
 		StringJoiner sj = new StringJoiner(System.lineSeparator(), "Brain --> Weights:" + System.lineSeparator(), "");
 
-		for (int i = 0; i < vmWeights.size(); ++i) {
-			sj.add("Layer " + (i + 1) + ":" + System.lineSeparator() + vmWeights.get(i));
+		for (int i = 0; i < topology.getNLayers(); ++i) {
+			sj.add("Layer " + (i + 1) + " (" + topology.getLayerActivation(i) + "):" + System.lineSeparator() + getLayerWeights(i));
 		}
 
 		return sj.toString();
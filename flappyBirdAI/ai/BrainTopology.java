@@ -0,0 +1,192 @@
+/**
+ * @author Federico Sabbatani
+ */
+
+package flappyBirdAI.ai;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+// Struttura della rete (neuroni e attivazione di ogni layer), compilata una volta in un piano di valutazione piatto:
+// per ogni layer numero di ingressi e uscite, offset dei suoi pesi nell'unico array dei pesi e attivazione (opcode)
+// Il costo dell'inferenza è solo quello delle moltiplicazioni, senza List o Matrix per layer
+// Rispetto a BatchBrainEvaluator le attivazioni nascoste possono differire di alcuni ulp (sigmoid scalare contro vettoriale, MatrixKernelsCheck):
+// le decisioni coincidono tranne quando la pre-attivazione dell'uscita è a pochi ulp da 0
+public final class BrainTopology implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	// Rete storica: 4 input (schema corrente), 4 neuroni nascosti, 1 uscita, tutte sigmoid
+	public static final BrainTopology DEFAULT = new BrainTopology(BirdBrain.V_NEURONS, Collections.nCopies(BirdBrain.NUM_LAYERS, Activation.SIGMOID));
+
+	private final InputSchema inputSchema;
+
+	// Piano di valutazione (vLayerOutputs e vLayerActivations sono anche i neuroni e le attivazioni della topologia)
+	private final int[] vLayerInputs, vLayerOutputs, vWeightOffsets;
+	private final Activation[] vLayerActivations;
+	private final int nWeights, maxWidth;
+
+	public BrainTopology(List<Integer> vNeurons, List<Activation> vActivations) throws NullPointerException, IllegalArgumentException {
+		this(InputSchema.CURRENT, vNeurons, vActivations);
+	}
+
+	// Un'attivazione per layer; l'ultimo layer ha un solo neurone (la decisione di salto)
+	public BrainTopology(InputSchema inputSchema, List<Integer> vNeurons, List<Activation> vActivations) throws NullPointerException, IllegalArgumentException {
+		this.inputSchema = Objects.requireNonNull(inputSchema, "Input Schema Cannot be Null");
+		vNeurons = List.copyOf(Objects.requireNonNull(vNeurons, "Neurons List Cannot be Null"));
+		vActivations = List.copyOf(Objects.requireNonNull(vActivations, "Activations List Cannot be Null"));
+		if (vNeurons.isEmpty()) {
+			throw new IllegalArgumentException("Topology Must Have at Least One Layer");
+		}
+		if (vActivations.size() != vNeurons.size()) {
+			throw new IllegalArgumentException("Number of Activations (" + vActivations.size() + ") Must Equal Number of Layers (" + vNeurons.size() + ")");
+		}
+		if (vNeurons.getLast() != 1) {
+			throw new IllegalArgumentException("Output Layer Must Have Exactly One Neuron");
+		}
+
+		int nLayers = vNeurons.size();
+		vLayerInputs = new int[nLayers];
+		vLayerOutputs = new int[nLayers];
+		vWeightOffsets = new int[nLayers + 1];
+		vLayerActivations = vActivations.toArray(new Activation[0]);
+
+		int width = inputSchema.size(), maxWidth = width;
+		for (int l = 0; l < nLayers; ++l) {
+			if (vNeurons.get(l) <= 0) {
+				throw new IllegalArgumentException("Number of Neurons Must be Greater than 0 (Layer " + (l + 1) + ")");
+			}
+			vLayerInputs[l] = width;
+			vLayerOutputs[l] = vNeurons.get(l);
+			vWeightOffsets[l + 1] = vWeightOffsets[l] + vLayerInputs[l] * vLayerOutputs[l];
+			width = vLayerOutputs[l];
+			maxWidth = Math.max(maxWidth, width);
+		}
+
+		this.nWeights = vWeightOffsets[nLayers];
+		this.maxWidth = maxWidth;
+	}
+
+	// Inferenza di un cervello con pesi in vWeights da weightOffset (layer, riga, colonna) e input normalizzati in vInputs
+	// vActA e vActB sono buffer del chiamante di almeno getMaxWidth() elementi
+	// Ritorna la pre-attivazione dell'unico neurone finale: l'attivazione dell'ultimo layer non viene calcolata e la decisione è il suo segno
+	// (come f(x) > f(0) in aritmetica esatta, vedi Activation per la banda attorno a 0 dove f in double vale già f(0))
+	public double evaluate(double[] vWeights, int weightOffset, double[] vInputs, double[] vActA, double[] vActB) {
+		double[] src = vInputs, dst = vActA;
+		double sum;
+		int w, nOutputLayer = vLayerOutputs.length - 1;
+
+		for (int l = 0; l < vLayerOutputs.length; ++l) {
+			int nIn = vLayerInputs[l], nOut = vLayerOutputs[l];
+			w = weightOffset + vWeightOffsets[l];
+
+			// Stesso ordine delle somme di BatchBrainEvaluator (k crescente)
+			for (int r = 0; r < nOut; ++r) {
+				sum = 0.0;
+				for (int k = 0; k < nIn; ++k) {
+					sum += vWeights[w++] * src[k];
+				}
+				dst[r] = sum;
+			}
+			if (l < nOutputLayer) {
+				vLayerActivations[l].applyInPlace(dst, 0, nOut);
+			}
+
+			src = dst;
+			dst = dst == vActA ? vActB : vActA;
+		}
+
+		return src[0];
+	}
+
+	// Vero se la pre-attivazione dell'uscita di evaluate() corrisponde a un salto
+	public boolean isJump(double output) {
+		return output > 0;
+	}
+
+	// Tasso di apprendimento del sigma di mutazione: 1 / sqrt(n) con n pesi (Schwefel)
+	double getMutationSigmaTau() {
+		return 1 / Math.sqrt(nWeights);
+	}
+
+	public InputSchema getInputSchema() {
+		return inputSchema;
+	}
+
+	public int getNInputs() {
+		return inputSchema.size();
+	}
+
+	public List<Integer> getNeurons() {
+		return Arrays.stream(vLayerOutputs).boxed().toList();
+	}
+
+	public List<Activation> getActivations() {
+		return List.of(vLayerActivations);
+	}
+
+	public int getNLayers() {
+		return vLayerOutputs.length;
+	}
+
+	public int getLayerInputs(int layer) {
+		return vLayerInputs[layer];
+	}
+
+	public int getLayerOutputs(int layer) {
+		return vLayerOutputs[layer];
+	}
+
+	public Activation getLayerActivation(int layer) {
+		return vLayerActivations[layer];
+	}
+
+	// Inizio dei pesi del layer nell'array dei pesi (layer = getNLayers() per la fine)
+	public int getWeightOffset(int layer) {
+		return vWeightOffsets[layer];
+	}
+
+	public int getNWeights() {
+		return nWeights;
+	}
+
+	// Genoma piatto: i pesi seguiti dal sigma di mutazione
+	public int getGenomeSize() {
+		return nWeights + 1;
+	}
+
+	// Massimo numero di valori di un layer (input compresi): dimensione minima dei buffer delle attivazioni
+	public int getMaxWidth() {
+		return maxWidth;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(inputSchema, Arrays.hashCode(vLayerOutputs), Arrays.hashCode(vLayerActivations));
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null) {
+			return false;
+		}
+		if (getClass() != obj.getClass()) {
+			return false;
+		}
+
+		BrainTopology other = (BrainTopology) obj;
+		return inputSchema.equals(other.inputSchema) && Arrays.equals(vLayerOutputs, other.vLayerOutputs) && Arrays.equals(vLayerActivations, other.vLayerActivations);
+	}
+
+	@Override
+	public String toString() {
+		return "Topology: " + inputSchema.size() + " (v" + inputSchema.getVersion() + ") -> " + Arrays.toString(vLayerOutputs) + " " + Arrays.toString(vLayerActivations);
+	}
+
+}
\ No newline at end of file
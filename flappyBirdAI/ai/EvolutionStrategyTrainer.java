@@ -0,0 +1,157 @@
+/**
+ * @author Federico Sabbatani
+ */
+
+package flappyBirdAI.ai;
+
+import flappyBirdAI.utils.Matrix;
+import java.util.Objects;
+import java.util.Random;
+
+// Strategia evolutiva in stile OpenAI-ES: un genoma medio theta e, a ogni generazione, perturbazioni gaussiane eps (una per coppia di uccelli)
+// Gli uccelli 2p e 2p + 1 valutano theta + sigma * eps[p] e theta - sigma * eps[p] (campionamento antitetico), nei limiti dei pesi
+// Aggiornamento: theta += lr / (n * sigma) * u^T * D, con u le utilità a ranghi centrati di ogni uccello e D le perturbazioni
+// applicate (una riga per uccello, in unità di sigma, dopo il clamp): con eps al posto di D il clamp renderebbe il gradiente distorto
+// Senza clamp D ha righe eps[p] e -eps[p], e u^T * D è la somma delle differenze di utilità delle coppie per eps
+public final class EvolutionStrategyTrainer implements Trainer {
+
+	// Misurati su HeadlessTrainer: con pesi in [-1, 1] passi piccoli restano sul plateau dove quasi tutti gli uccelli muoiono insieme
+	public static final double DEFAULT_SIGMA = 1;
+	public static final double DEFAULT_LEARNING_RATE = 1;
+
+	private final BrainTopology topology;
+	private final int nWeights, capacity, nPairsMax;
+	private final double sigma, learningRate;
+
+	// Genoma medio (1 x pesi), perturbazioni applicate (uccelli x pesi), utilità degli uccelli (1 x uccelli) e gradiente stimato
+	private final Matrix mMean, mPerturbations, mUtilities, mGradient;
+	// Spazi di lavoro riusati tra le generazioni
+	private final double[] vMean, vSamplePlus, vSampleMinus, vSortedFitness, vUtilities;
+	// Coppie campionate nella generazione in corso (0 = nessuna, es. dopo initGeneration senza genitori)
+	private int nPairs = 0;
+
+	public EvolutionStrategyTrainer(BrainTopology topology, int nBirdsXGen) throws NullPointerException, IllegalArgumentException {
+		this(topology, nBirdsXGen, DEFAULT_SIGMA, DEFAULT_LEARNING_RATE);
+	}
+
+	// Solo per pool della stessa topologia
+	public EvolutionStrategyTrainer(BrainTopology topology, int nBirdsXGen, double sigma, double learningRate) throws NullPointerException, IllegalArgumentException {
+		this.topology = Objects.requireNonNull(topology, "Brain Topology Cannot be Null");
+		if (nBirdsXGen < 2) {
+			throw new IllegalArgumentException("Evolution Strategy Needs at Least 2 Birds per Generation");
+		}
+		if (sigma < BirdBrain.WEIGHT_UPDATE_STEP || sigma > BirdBrain.MAX_MUTATION_SIGMA) {
+			throw new IllegalArgumentException("Sigma Must be Between " + BirdBrain.WEIGHT_UPDATE_STEP + " and " + BirdBrain.MAX_MUTATION_SIGMA);
+		}
+		if (learningRate <= 0) {
+			throw new IllegalArgumentException("Learning Rate Must be Greater than 0");
+		}
+
+		this.nWeights = topology.getNWeights();
+		this.capacity = nBirdsXGen;
+		this.nPairsMax = nBirdsXGen / 2;
+		this.sigma = sigma;
+		this.learningRate = learningRate;
+
+		mMean = new Matrix(1, nWeights);
+		mPerturbations = new Matrix(2 * nPairsMax, nWeights);
+		mUtilities = new Matrix(1, 2 * nPairsMax);
+		mGradient = new Matrix(1, nWeights);
+		vMean = new double[nWeights];
+		vSamplePlus = new double[topology.getGenomeSize()];
+		vSampleMinus = new double[topology.getGenomeSize()];
+		vSortedFitness = new double[nBirdsXGen];
+		vUtilities = new double[nBirdsXGen];
+	}
+
+	@Override
+	public String getName() {
+		return "Evolution Strategy (Sigma: " + sigma + ", Learning Rate: " + learningRate + ")";
+	}
+
+	// Media iniziale: il genoma caricato o pesi casuali, poi il primo campionamento
+	@Override
+	public int initGeneration(double[] vBestGenome, GenomePool dstPool, int nBirds, Random random) throws NullPointerException {
+		Objects.requireNonNull(dstPool, "Destination Genome Pool Cannot be Null");
+		Objects.requireNonNull(random, "Random Cannot be Null");
+		requireSameTopology(dstPool);
+
+		if (vBestGenome != null) {
+			mMean.copyFrom(vBestGenome, 0);
+		} else {
+			for (int j = 0; j < nWeights; ++j) {
+				mMean.set(0, j, BirdBrain.WEIGHT_MIN_VALUE + (BirdBrain.WEIGHT_MAX_VALUE - BirdBrain.WEIGHT_MIN_VALUE) * random.nextDouble());
+			}
+		}
+
+		return sample(dstPool, nBirds, random);
+	}
+
+	@Override
+	public int nextGeneration(GenomePool srcPool, double[] vFitness, int nParents, double[] vBestGenome, GenomePool dstPool, int nBirds, Random random) throws NullPointerException {
+		Objects.requireNonNull(srcPool, "Source Genome Pool Cannot be Null");
+		Objects.requireNonNull(vFitness, "Fitness Array Cannot be Null");
+		Objects.requireNonNull(dstPool, "Destination Genome Pool Cannot be Null");
+		Objects.requireNonNull(random, "Random Cannot be Null");
+		requireSameTopology(dstPool);
+
+		// Le fitness sono valide solo se la generazione valutata è quella campionata (stesse coppie negli stessi slot)
+		if (nPairs > 0 && nParents >= 2 * nPairs) {
+			updateMean(vFitness);
+		}
+
+		return sample(dstPool, nBirds, random);
+	}
+
+	private void updateMean(double[] vFitness) {
+		int nSamples = 2 * nPairs;
+		Selection.centeredRanks(vFitness, nSamples, vSortedFitness, vUtilities);
+
+		// Le colonne oltre nSamples (generazione più piccola della capacità) restano a zero e non contribuiscono
+		mUtilities.fill(0);
+		for (int i = 0; i < nSamples; ++i) {
+			mUtilities.set(0, i, vUtilities[i]);
+		}
+
+		// Gradiente della fitness attesa rispetto a theta: (1 x uccelli) * (uccelli x pesi)
+		mUtilities.multiplyInto(mPerturbations, mGradient);
+		mMean.axpy(learningRate / (nSamples * sigma), mGradient)
+		.applyInPlace(w -> Math.clamp(w, BirdBrain.WEIGHT_MIN_VALUE, BirdBrain.WEIGHT_MAX_VALUE));
+	}
+
+	// Nuove coppie antitetiche negli slot [0, 2 * nPairs) con le perturbazioni applicate, la media nell'ultimo slot se nBirds è dispari
+	private int sample(GenomePool dstPool, int nBirds, Random random) {
+		int n = Math.min(nBirds, capacity);
+		nPairs = Math.min(n / 2, nPairsMax);
+		double eps;
+
+		mMean.copyTo(vMean, 0);
+		// Il sigma del genoma registra il passo di campionamento (salvato con il cervello)
+		vSamplePlus[nWeights] = vSampleMinus[nWeights] = sigma;
+
+		for (int p = 0; p < nPairs; ++p) {
+			for (int j = 0; j < nWeights; ++j) {
+				eps = random.nextGaussian();
+				vSamplePlus[j] = Math.clamp(vMean[j] + sigma * eps, BirdBrain.WEIGHT_MIN_VALUE, BirdBrain.WEIGHT_MAX_VALUE);
+				vSampleMinus[j] = Math.clamp(vMean[j] - sigma * eps, BirdBrain.WEIGHT_MIN_VALUE, BirdBrain.WEIGHT_MAX_VALUE);
+				mPerturbations.set(2 * p, j, (vSamplePlus[j] - vMean[j]) / sigma);
+				mPerturbations.set(2 * p + 1, j, (vSampleMinus[j] - vMean[j]) / sigma);
+			}
+			dstPool.copyFrom(vSamplePlus, 0, 2 * p);
+			dstPool.copyFrom(vSampleMinus, 0, 2 * p + 1);
+		}
+		if (n > 2 * nPairs) {
+			System.arraycopy(vMean, 0, vSamplePlus, 0, nWeights);
+			dstPool.copyFrom(vSamplePlus, 0, n - 1);
+		}
+
+		return n;
+	}
+
+	private void requireSameTopology(GenomePool pool) throws IllegalArgumentException {
+		if (!topology.equals(pool.getTopology())) {
+			throw new IllegalArgumentException("Incompatible Brain Topology: Expected " + topology + ", Found " + pool.getTopology());
+		}
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,122 @@
+/**
+ * @author Federico Sabbatani
+ */
+
+package flappyBirdAI.ai;
+
+import java.util.Objects;
+import java.util.Random;
+
+// Algoritmo genetico: miglior genoma di sempre e top-K invariati (élite), poi figli mutati di due genitori
+// scelti per torneo e ricombinati. Solo nBirdsRegen uccelli per generazione, il resto è lasciato a migranti e casuali
+public final class GeneticTrainer implements Trainer {
+
+	// Selezione: percentuale di élite copiati invariati e dimensione del torneo per scegliere i genitori
+	public static final int DEFAULT_ELITE_PERC = 1;
+	public static final int DEFAULT_TOURNAMENT_SIZE = 3;
+	public static final GenomePool.Crossover DEFAULT_CROSSOVER = GenomePool.Crossover.UNIFORM;
+
+	private final int nBirdsXGen, nBirdsRegen;
+	private final int[] vSelectionIndices;
+	private int nElites, tournamentSize = DEFAULT_TOURNAMENT_SIZE;
+	private GenomePool.Crossover crossover = DEFAULT_CROSSOVER;
+
+	public GeneticTrainer(int nBirdsXGen, int birdsRegenPerc) throws IllegalArgumentException {
+		if (nBirdsXGen <= 0) {
+			throw new IllegalArgumentException("Number of Birds per Generation Must Be Greater than 0");
+		}
+		if (birdsRegenPerc < 0 || birdsRegenPerc > 100) {
+			throw new IllegalArgumentException("Birds Regeneration Percentage Must Be Between 0 and 100");
+		}
+
+		this.nBirdsXGen = nBirdsXGen;
+		this.nBirdsRegen = (int) (nBirdsXGen * (birdsRegenPerc / 100.0));
+		vSelectionIndices = new int[nBirdsXGen];
+		nElites = Math.max(1, nBirdsXGen * DEFAULT_ELITE_PERC / 100);
+	}
+
+	// nElites migliori della generazione copiati invariati, gli altri figli da genitori scelti con tornei di tournamentSize uccelli
+	public void setSelection(int nElites, int tournamentSize) throws IllegalArgumentException {
+		if (nElites < 0 || nElites > nBirdsXGen) {
+			throw new IllegalArgumentException("Number of Elites Must be Between 0 and " + nBirdsXGen);
+		}
+		if (tournamentSize <= 0) {
+			throw new IllegalArgumentException("Tournament Size Must be Greater than 0");
+		}
+
+		this.nElites = nElites;
+		this.tournamentSize = tournamentSize;
+	}
+
+	// Ricombinazione dei due genitori dei figli non élite (NONE = solo mutazione di un genitore)
+	public void setCrossover(GenomePool.Crossover crossover) throws NullPointerException {
+		this.crossover = Objects.requireNonNull(crossover, "Crossover Cannot be Null");
+	}
+
+	@Override
+	public String getName() {
+		return "Genetic (Crossover: " + crossover + ", Elites: " + nElites + ", Tournament: " + tournamentSize + ")";
+	}
+
+	// Con un cervello caricato tutta la prima generazione è fatta di sue copie mutate, altrimenti è tutta casuale
+	@Override
+	public int initGeneration(double[] vBestGenome, GenomePool dstPool, int nBirds, Random random) throws NullPointerException {
+		Objects.requireNonNull(dstPool, "Destination Genome Pool Cannot be Null");
+		Objects.requireNonNull(random, "Random Cannot be Null");
+
+		if (vBestGenome == null) {
+			return 0;
+		}
+
+		for (int slot = 0; slot < nBirds; ++slot) {
+			dstPool.cloneAndMutate(vBestGenome, 0, slot, random);
+		}
+		return nBirds;
+	}
+
+	@Override
+	public int nextGeneration(GenomePool srcPool, double[] vFitness, int nParents, double[] vBestGenome, GenomePool dstPool, int nBirds, Random random) throws NullPointerException {
+		Objects.requireNonNull(srcPool, "Source Genome Pool Cannot be Null");
+		Objects.requireNonNull(vFitness, "Fitness Array Cannot be Null");
+		Objects.requireNonNull(dstPool, "Destination Genome Pool Cannot be Null");
+		Objects.requireNonNull(random, "Random Cannot be Null");
+
+		int nRegen = Math.min(nBirdsRegen, nBirds);
+
+		// Nessun genitore valutato: copie mutate del miglior genoma (se esiste)
+		if (nParents == 0) {
+			if (vBestGenome == null) {
+				return 0;
+			}
+			for (int slot = 0; slot < nRegen; ++slot) {
+				dstPool.cloneAndMutate(vBestGenome, 0, slot, random);
+			}
+			return nRegen;
+		}
+
+		// Il miglior genoma di sempre occupa uno slot del budget degli élite
+		boolean keepBest = vBestGenome != null && nElites > 0 && nRegen > 0;
+		int nTop = Math.min(keepBest ? nElites - 1 : nElites, nParents);
+		nTop = Math.min(nTop, keepBest ? nRegen - 1 : nRegen);
+		int slot = 0, parentA, parentB;
+
+		Selection.selectTopK(vFitness, nParents, nTop, vSelectionIndices, random);
+
+		if (keepBest) {
+			dstPool.copyFrom(vBestGenome, 0, slot++);
+		}
+		for (int e = 0; e < nTop; ++e) {
+			dstPool.copyFrom(srcPool, vSelectionIndices[e], slot++);
+		}
+		for (; slot < nRegen; ++slot) {
+			parentA = Selection.tournament(vFitness, nParents, tournamentSize, random);
+			parentB = crossover == GenomePool.Crossover.NONE ? parentA : Selection.tournament(vFitness, nParents, tournamentSize, random);
+
+			dstPool.crossover(srcPool, parentA, parentB, slot, crossover, random);
+			dstPool.mutate(slot, random);
+		}
+
+		return nRegen;
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,201 @@
+/**
+ * @author Federico Sabbatani
+ */
+
+package flappyBirdAI.ai;
+
+import flappyBirdAI.utils.MatrixKernels;
+import java.util.Objects;
+import java.util.Random;
+
+// Genomi (pesi e sigma di mutazione di un BirdBrain) di tutti gli uccelli in un'unica arena double[] riutilizzata tra le generazioni
+// Il genoma dello slot s occupa [s * genomeSize, (s + 1) * genomeSize), nello stesso ordine di BirdBrain.copyGenomeTo (layer, riga, colonna, poi sigma)
+// Tutti i genomi di un pool hanno la stessa BrainTopology
+// Clonare e mutare un genoma è una copia di array più un ciclo sui pesi: nessun BirdBrain o Matrix per uccello
+public final class GenomePool {
+
+	private static final MatrixKernels KERNELS = MatrixKernels.getInstance();
+
+	// Operatori di ricombinazione di due genitori
+	public enum Crossover {
+		// Nessuna ricombinazione: il figlio è una copia del primo genitore
+		NONE,
+		// Ogni peso dall'uno o dall'altro genitore con probabilità 1/2
+		UNIFORM,
+		// Interpolazione lineare dei pesi con un coefficiente casuale in [0, 1] per figlio
+		BLEND,
+		// Ogni layer intero dall'uno o dall'altro genitore
+		LAYER
+	}
+
+	private final BrainTopology topology;
+	// Dimensione del genoma e posizione di sigma, dopo tutti i pesi
+	private final int genomeSize, sigmaIndex;
+	private final double mutationSigmaTau;
+	private final int capacity;
+	private final double[] arena;
+
+	public GenomePool(int capacity) throws IllegalArgumentException {
+		this(BrainTopology.DEFAULT, capacity);
+	}
+
+	public GenomePool(BrainTopology topology, int capacity) throws NullPointerException, IllegalArgumentException {
+		this.topology = Objects.requireNonNull(topology, "Brain Topology Cannot be Null");
+		if (capacity <= 0) {
+			throw new IllegalArgumentException("Genome Pool Capacity Must be Greater than Zero");
+		}
+
+		this.genomeSize = topology.getGenomeSize();
+		this.sigmaIndex = topology.getNWeights();
+		this.mutationSigmaTau = topology.getMutationSigmaTau();
+		this.capacity = capacity;
+		arena = new double[capacity * genomeSize];
+	}
+
+	// Pesi casuali nello stesso intervallo e ordine di new BirdBrain(random), sigma iniziale
+	public void randomize(int slot, Random random) throws NullPointerException {
+		Objects.requireNonNull(random, "Random Cannot be Null");
+		int offset = getOffset(slot);
+
+		for (int i = offset; i < offset + sigmaIndex; ++i) {
+			arena[i] = BirdBrain.WEIGHT_MIN_VALUE + (BirdBrain.WEIGHT_MAX_VALUE - BirdBrain.WEIGHT_MIN_VALUE) * random.nextDouble();
+		}
+		arena[offset + sigmaIndex] = BirdBrain.DEFAULT_MUTATION_SIGMA;
+	}
+
+	// Copia il genoma src (da srcIndex) nello slot
+	public void copyFrom(double[] src, int srcIndex, int slot) throws NullPointerException {
+		Objects.requireNonNull(src, "Source Genome Cannot be Null");
+		System.arraycopy(src, srcIndex, arena, getOffset(slot), genomeSize);
+	}
+
+	// Copia il genoma srcSlot di srcPool (anche un altro pool, es. quello della generazione precedente) nello slot
+	public void copyFrom(GenomePool srcPool, int srcSlot, int slot) throws NullPointerException {
+		Objects.requireNonNull(srcPool, "Source Genome Pool Cannot be Null");
+		requireSameTopology(srcPool.topology);
+		copyFrom(srcPool.arena, srcPool.getOffset(srcSlot), slot);
+	}
+
+	// Copia il genoma src (da srcIndex) nello slot e lo muta: clone-and-mutate senza allocazioni
+	public void cloneAndMutate(double[] src, int srcIndex, int slot, Random random) throws NullPointerException {
+		copyFrom(src, srcIndex, slot);
+		mutate(slot, random);
+	}
+
+	public void cloneAndMutate(GenomePool srcPool, int srcSlot, int slot, Random random) throws NullPointerException {
+		copyFrom(srcPool, srcSlot, slot);
+		mutate(slot, random);
+	}
+
+	// Figlio nello slot dai genitori parentA e parentB di srcPool (un altro pool: lo slot non può essere un genitore)
+	// Con i kernel SIMD di MatrixKernels per UNIFORM e BLEND, copie di blocchi per LAYER
+	// Il sigma del figlio è la media geometrica di quelli dei genitori (ricombinazione intermedia dei passi di mutazione)
+	public void crossover(GenomePool srcPool, int parentA, int parentB, int slot, Crossover crossover, Random random) throws NullPointerException, IllegalArgumentException {
+		Objects.requireNonNull(srcPool, "Source Genome Pool Cannot be Null");
+		Objects.requireNonNull(crossover, "Crossover Cannot be Null");
+		Objects.requireNonNull(random, "Random Cannot be Null");
+		if (srcPool == this) {
+			throw new IllegalArgumentException("Source Genome Pool Must be Different from Destination Pool");
+		}
+		requireSameTopology(srcPool.topology);
+
+		final double[] src = srcPool.arena;
+		int offsetA = srcPool.getOffset(parentA), offsetB = srcPool.getOffset(parentB), offset = getOffset(slot);
+
+		if (crossover == Crossover.NONE) {
+			System.arraycopy(src, offsetA, arena, offset, genomeSize);
+			return;
+		}
+
+		switch (crossover) {
+			case UNIFORM -> {
+				// 64 pesi per estrazione: un bit casuale per peso
+				for (int i = 0; i < sigmaIndex; i += Long.SIZE) {
+					KERNELS.select(src, offsetA + i, src, offsetB + i, random.nextLong(), arena, offset + i, Math.min(Long.SIZE, sigmaIndex - i));
+				}
+			}
+			case BLEND -> KERNELS.blend(src, offsetA, src, offsetB, random.nextDouble(), arena, offset, sigmaIndex);
+			case LAYER -> {
+				for (int l = 0; l < topology.getNLayers(); ++l) {
+					int layerOffset = topology.getWeightOffset(l);
+					System.arraycopy(src, (random.nextBoolean() ? offsetB : offsetA) + layerOffset, arena, offset + layerOffset, topology.getWeightOffset(l + 1) - layerOffset);
+				}
+			}
+		}
+
+		arena[offset + sigmaIndex] = Math.sqrt(src[offsetA + sigmaIndex] * src[offsetB + sigmaIndex]);
+	}
+
+	// Stessa mutazione di BirdBrain.updateWeights(random): sigma auto-adattivo, poi spostamento gaussiano di ogni peso
+	public void mutate(int slot, Random random) throws NullPointerException {
+		Objects.requireNonNull(random, "Random Cannot be Null");
+		int offset = getOffset(slot);
+		double sigma = arena[offset + sigmaIndex] = BirdBrain.adaptMutationSigma(arena[offset + sigmaIndex], mutationSigmaTau, random);
+
+		for (int i = offset; i < offset + sigmaIndex; ++i) {
+			arena[i] = BirdBrain.mutateWeight(arena[i], sigma, random);
+		}
+	}
+
+	public void load(int slot, BirdBrain brain) throws NullPointerException, IllegalArgumentException {
+		Objects.requireNonNull(brain, "Bird Brain Cannot be Null");
+		requireSameTopology(brain.getTopology());
+		brain.copyGenomeTo(arena, getOffset(slot));
+	}
+
+	// Copia l'intero genoma dello slot (pesi e sigma) in dst a partire da dstIndex
+	public void copyTo(int slot, double[] dst, int dstIndex) throws NullPointerException {
+		Objects.requireNonNull(dst, "Destination Array Cannot be Null");
+		System.arraycopy(arena, getOffset(slot), dst, dstIndex, genomeSize);
+	}
+
+	// Copia solo i pesi dello slot in dst a partire da dstIndex, con passo stride tra pesi consecutivi
+	public void copyWeightsTo(int slot, double[] dst, int dstIndex, int stride) throws NullPointerException {
+		Objects.requireNonNull(dst, "Destination Array Cannot be Null");
+		int offset = getOffset(slot);
+
+		for (int i = offset; i < offset + sigmaIndex; ++i) {
+			dst[dstIndex] = arena[i];
+			dstIndex += stride;
+		}
+	}
+
+	public double getMutationSigma(int slot) {
+		return arena[getOffset(slot) + sigmaIndex];
+	}
+
+	// Nuovo BirdBrain con il genoma dello slot (per salvataggio e rendering, fuori dal ciclo di simulazione)
+	public BirdBrain toBrain(int slot) {
+		return BirdBrain.fromGenome(topology, arena, getOffset(slot));
+	}
+
+	// Come toBrain() ma riutilizzando un cervello esistente della stessa topologia
+	public void copyTo(int slot, BirdBrain brain) throws NullPointerException, IllegalArgumentException {
+		Objects.requireNonNull(brain, "Bird Brain Cannot be Null");
+		requireSameTopology(brain.getTopology());
+		brain.copyGenomeFrom(arena, getOffset(slot));
+	}
+
+	private void requireSameTopology(BrainTopology otherTopology) throws IllegalArgumentException {
+		if (!topology.equals(otherTopology)) {
+			throw new IllegalArgumentException("Incompatible Brain Topology: Expected " + topology + ", Found " + otherTopology);
+		}
+	}
+
+	private int getOffset(int slot) throws IndexOutOfBoundsException {
+		return Objects.checkIndex(slot, capacity) * genomeSize;
+	}
+
+	public BrainTopology getTopology() {
+		return topology;
+	}
+
+	public int getGenomeSize() {
+		return genomeSize;
+	}
+
+	public int getCapacity() {
+		return capacity;
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,152 @@
+/**
+ * @author Federico Sabbatani
+ */
+
+package flappyBirdAI.ai;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+// Schema degli input della rete: ogni feature ha un nome, un indice fisso nel vettore degli input e un intervallo di valori noto
+// I pesi del primo layer dipendono dall'ordine e dalla normalizzazione, per questo la versione dello schema è salvata nel file del cervello
+// Una nuova feature richiede un nuovo schema con versione successiva (aggiunto a V_KNOWN_SCHEMAS), mai il riordino di uno esistente
+public final class InputSchema implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	// Normalizzazione degli input tra -1 e +1
+	public enum Normalization {
+		// Con min e max dei quattro input di ogni uccello: mescola posizioni e velocità e dipende dalle dimensioni della finestra
+		PER_BIRD_MIN_MAX,
+		// Con l'intervallo noto di ogni feature nel mondo (FeatureRange): fattori uguali per tutti gli uccelli, calcolati una volta per frame
+		WORLD_RANGE
+	}
+
+	// Intervallo dei valori di una feature, mappato su [-1, +1] da Normalization.WORLD_RANGE
+	public enum FeatureRange {
+		// [-maxBirdSpeed, +maxBirdSpeed]
+		BIRD_SPEED,
+		// [0, gameHeight]
+		GAME_HEIGHT,
+		// [0, gameWidth]
+		GAME_WIDTH
+	}
+
+	// Indici delle feature negli schemi V1 e V2
+	public static final int VY_BIRD = 0, Y_BIRD = 1, Y_CENTER_TUBE_HOLE = 2, X_DIST_BIRD_TUBE = 3;
+
+	private static final List<String> V_FEATURES_V1 = List.of("vyBird", "yBird", "yCenterTubeHole", "xDistBirdTube");
+	private static final List<FeatureRange> V_RANGES_V1 = List.of(FeatureRange.BIRD_SPEED, FeatureRange.GAME_HEIGHT, FeatureRange.GAME_HEIGHT, FeatureRange.GAME_WIDTH);
+
+	// Era l'ordine di iterazione della HashMap di normalizzazione: è l'ordine dei pesi di tutti i file salvati senza versione
+	public static final InputSchema V1 = new InputSchema(1, V_FEATURES_V1, V_RANGES_V1, Normalization.PER_BIRD_MIN_MAX);
+	// Stesse feature di V1 normalizzate con gli intervalli del mondo: cervelli portabili tra finestre di dimensioni diverse
+	public static final InputSchema V2 = new InputSchema(2, V_FEATURES_V1, V_RANGES_V1, Normalization.WORLD_RANGE);
+
+	// Schema delle nuove reti (i cervelli caricati mantengono il proprio)
+	public static final InputSchema CURRENT = V2;
+
+	private static final List<InputSchema> V_KNOWN_SCHEMAS = List.of(V1, V2);
+
+	public static Optional<InputSchema> fromVersion(int version) {
+		return V_KNOWN_SCHEMAS.stream().filter(schema -> schema.version == version).findFirst();
+	}
+
+	private final int version;
+	private final String[] vFeatures;
+	private final FeatureRange[] vRanges;
+	private final Normalization normalization;
+
+	private InputSchema(int version, List<String> vFeatures, List<FeatureRange> vRanges, Normalization normalization) {
+		this.version = version;
+		this.vFeatures = vFeatures.toArray(new String[0]);
+		this.vRanges = vRanges.toArray(new FeatureRange[0]);
+		this.normalization = normalization;
+	}
+
+	// Fattori di Normalization.WORLD_RANGE per le dimensioni del mondo date: input normalizzato = input * vScales[f] + vOffsets[f]
+	public void computeScales(double gameWidth, double gameHeight, double maxBirdSpeed, double[] vScales, double[] vOffsets) throws NullPointerException, IllegalArgumentException {
+		Objects.requireNonNull(vScales, "Scales Array Cannot be Null");
+		Objects.requireNonNull(vOffsets, "Offsets Array Cannot be Null");
+		if (!(gameWidth > 0 && gameHeight > 0 && maxBirdSpeed > 0)) {
+			throw new IllegalArgumentException("Input Ranges Must be Greater than Zero");
+		}
+
+		for (int f = 0; f < vRanges.length; ++f) {
+			switch (vRanges[f]) {
+				case BIRD_SPEED -> {
+					vScales[f] = 1 / maxBirdSpeed;
+					vOffsets[f] = 0;
+				}
+				case GAME_HEIGHT -> {
+					vScales[f] = 2 / gameHeight;
+					vOffsets[f] = -1;
+				}
+				case GAME_WIDTH -> {
+					vScales[f] = 2 / gameWidth;
+					vOffsets[f] = -1;
+				}
+			}
+		}
+	}
+
+	// Indice della feature nel vettore degli input
+	public int indexOf(String feature) throws NullPointerException, IllegalArgumentException {
+		int index = List.of(vFeatures).indexOf(Objects.requireNonNull(feature, "Feature Name Cannot be Null"));
+		if (index < 0) {
+			throw new IllegalArgumentException("Unknown Input Feature: " + feature + " (Input Schema v" + version + ")");
+		}
+
+		return index;
+	}
+
+	public int getVersion() {
+		return version;
+	}
+
+	public List<String> getFeatures() {
+		return List.of(vFeatures);
+	}
+
+	public List<FeatureRange> getRanges() {
+		return List.of(vRanges);
+	}
+
+	public Normalization getNormalization() {
+		return normalization;
+	}
+
+	public int size() {
+		return vFeatures.length;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(version, Arrays.hashCode(vFeatures), Arrays.hashCode(vRanges), normalization);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null) {
+			return false;
+		}
+		if (getClass() != obj.getClass()) {
+			return false;
+		}
+
+		InputSchema other = (InputSchema) obj;
+		return version == other.version && Arrays.equals(vFeatures, other.vFeatures) && Arrays.equals(vRanges, other.vRanges) && normalization == other.normalization;
+	}
+
+	@Override
+	public String toString() {
+		return "Input Schema v" + version + ": " + Arrays.toString(vFeatures) + " (" + normalization + ")";
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,132 @@
+/**
+ * @author Federico Sabbatani
+ */
+
+package flappyBirdAI.ai;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Random;
+
+// Operatori di selezione su un array primitivo di fitness (indice = uccello), senza ordinamenti completi (tranne i ranghi)
+public final class Selection {
+
+	// Costruttore privato per evitare l'istanziazione
+	private Selection() {
+		throw new UnsupportedOperationException("Selection is a utility class and cannot be instantiated.");
+	}
+
+	// Mette in vOutIndices[0, k) gli indici dei k uccelli con fitness maggiore tra i primi n (in ordine qualsiasi)
+	// Quickselect con pivot casuale sugli indici: O(n) atteso invece di O(n log n) di un ordinamento
+	// Partizione a tre vie: le fitness uguali al pivot (frequenti, es. uccelli morti insieme) si fermano tutte in un passo
+	public static void selectTopK(double[] vFitness, int n, int k, int[] vOutIndices, Random random) throws NullPointerException, IllegalArgumentException {
+		Objects.requireNonNull(vFitness, "Fitness Array Cannot be Null");
+		Objects.requireNonNull(vOutIndices, "Output Indices Array Cannot be Null");
+		Objects.requireNonNull(random, "Random Cannot be Null");
+		if (n < 0 || n > vFitness.length || n > vOutIndices.length) {
+			throw new IllegalArgumentException("Invalid Number of Individuals: " + n);
+		}
+		if (k < 0 || k > n) {
+			throw new IllegalArgumentException("K Must be Between 0 and " + n);
+		}
+
+		for (int i = 0; i < n; ++i) {
+			vOutIndices[i] = i;
+		}
+
+		int left = 0, right = n - 1, lt, gt, i;
+		double pivotFitness, fitness;
+		while (k > 0 && k < n && left < right) {
+			// Partizione a tre vie (bandiera olandese) in ordine decrescente di fitness:
+			// [left, lt) maggiori del pivot, [lt, gt] uguali, (gt, right] minori
+			pivotFitness = vFitness[vOutIndices[left + random.nextInt(right - left + 1)]];
+			lt = left;
+			gt = right;
+			i = left;
+			while (i <= gt) {
+				fitness = vFitness[vOutIndices[i]];
+				if (fitness > pivotFitness) {
+					swap(vOutIndices, i++, lt++);
+				} else if (fitness < pivotFitness) {
+					swap(vOutIndices, i, gt--);
+				} else {
+					++i;
+				}
+			}
+
+			// La posizione k cade tra gli uguali al pivot: i primi k sono già i migliori, altrimenti si continua dal lato che la contiene
+			if (k >= lt && k <= gt + 1) {
+				return;
+			} else if (k < lt) {
+				right = lt - 1;
+			} else {
+				left = gt + 1;
+			}
+		}
+	}
+
+	private static void swap(int[] v, int i, int j) {
+		int tmp = v[i];
+		v[i] = v[j];
+		v[j] = tmp;
+	}
+
+	// Torneo: il migliore tra tournamentSize uccelli estratti a caso (con ripetizione) tra i primi n, O(tournamentSize)
+	public static int tournament(double[] vFitness, int n, int tournamentSize, Random random) throws NullPointerException, IllegalArgumentException {
+		Objects.requireNonNull(vFitness, "Fitness Array Cannot be Null");
+		Objects.requireNonNull(random, "Random Cannot be Null");
+		if (n <= 0 || n > vFitness.length) {
+			throw new IllegalArgumentException("Invalid Number of Individuals: " + n);
+		}
+		if (tournamentSize <= 0) {
+			throw new IllegalArgumentException("Tournament Size Must be Greater than 0");
+		}
+
+		int bestIndex = random.nextInt(n), candidateIndex;
+		for (int i = 1; i < tournamentSize; ++i) {
+			candidateIndex = random.nextInt(n);
+			if (vFitness[candidateIndex] > vFitness[bestIndex]) {
+				bestIndex = candidateIndex;
+			}
+		}
+
+		return bestIndex;
+	}
+
+	// Utilità a ranghi centrati in [-0.5, 0.5] dei primi n uccelli (fitness shaping delle strategie evolutive):
+	// dipendono solo dall'ordine delle fitness, non dalla loro scala. A pari fitness corrisponde il rango medio
+	// vSortedBuffer (almeno n elementi) è riusato come spazio di lavoro per l'ordinamento
+	public static void centeredRanks(double[] vFitness, int n, double[] vSortedBuffer, double[] vOutUtilities) throws NullPointerException, IllegalArgumentException {
+		Objects.requireNonNull(vFitness, "Fitness Array Cannot be Null");
+		Objects.requireNonNull(vSortedBuffer, "Sorted Buffer Cannot be Null");
+		Objects.requireNonNull(vOutUtilities, "Output Utilities Array Cannot be Null");
+		if (n < 2 || n > vFitness.length || n > vSortedBuffer.length || n > vOutUtilities.length) {
+			throw new IllegalArgumentException("Invalid Number of Individuals: " + n);
+		}
+
+		System.arraycopy(vFitness, 0, vSortedBuffer, 0, n);
+		Arrays.sort(vSortedBuffer, 0, n);
+
+		int lower, upper;
+		for (int i = 0; i < n; ++i) {
+			lower = lowerBound(vSortedBuffer, n, vFitness[i]);
+			upper = lowerBound(vSortedBuffer, n, Math.nextUp(vFitness[i]));
+			vOutUtilities[i] = (lower + upper - 1) / (2.0 * (n - 1)) - 0.5;
+		}
+	}
+
+	// Prima posizione di vSorted[0, n) con valore >= value
+	private static int lowerBound(double[] vSorted, int n, double value) {
+		int left = 0, right = n, mid;
+		while (left < right) {
+			mid = (left + right) >>> 1;
+			if (vSorted[mid] < value) {
+				left = mid + 1;
+			} else {
+				right = mid;
+			}
+		}
+		return left;
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,24 @@
+/**
+ * @author Federico Sabbatani
+ */
+
+package flappyBirdAI.ai;
+
+import java.util.Random;
+
+// Algoritmo di addestramento, chiamato da GameWorld ai confini di generazione
+// Scrive i genomi della nuova generazione negli slot [0, n) di dstPool e ritorna n <= nBirds: gli slot restanti sono riempiti
+// da GameWorld con i migranti e poi con genomi casuali (nBirds esclude già gli slot dei migranti in attesa)
+public interface Trainer {
+
+	String getName();
+
+	// Prima generazione (avvio, reset o cervello caricato da file)
+	// vBestGenome è il genoma di partenza, null se l'addestramento parte da zero
+	int initGeneration(double[] vBestGenome, GenomePool dstPool, int nBirds, Random random) throws NullPointerException;
+
+	// Generazione successiva a quella valutata: srcPool e vFitness contengono i nParents uccelli della generazione terminata
+	// vBestGenome è il miglior genoma di sempre, null se non ancora disponibile
+	int nextGeneration(GenomePool srcPool, double[] vFitness, int nParents, double[] vBestGenome, GenomePool dstPool, int nBirds, Random random) throws NullPointerException;
+
+}
\ No newline at end of file
@@ -0,0 +1,205 @@
+/**
+ * @author Federico Sabbatani
+ */
+
+package flappyBirdAI.controller;
+
+import flappyBirdAI.ai.Activation;
+import flappyBirdAI.ai.BatchBrainEvaluator;
+import flappyBirdAI.ai.BirdBrain;
+import flappyBirdAI.ai.BrainTopology;
+import flappyBirdAI.model.AbstractGameObject;
+import flappyBirdAI.model.entities.FlappyBird;
+import flappyBirdAI.model.entities.TubePair;
+import flappyBirdAI.utils.CommandLineOptions;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+// Controllo delle approssimazioni della sigmoid: esce con codice 1 se una di esse si allontana troppo da SIGMOID
+// Uso: java flappyBirdAI.controller.ActivationAgreementCheck --samples=20000 --birds=100 --sampleEvery=4 --maxGenSeconds=60 --seed=1
+// Per ogni approssimazione verifica l'errore massimo dichiarato in Activation (su [-30, 30]) e la percentuale di decisioni di salto
+// uguali a quelle della sigmoid esatta, con gli stessi pesi, sulle topologie 4-4-1 e 16-8-1
+// Input registrati da un addestramento senza interfaccia del GameWorld (gli uccelli vivi ogni sampleEvery passi), pesi casuali scalati
+// fino a WEIGHT_SCALES volte per coprire anche reti sature
+public final class ActivationAgreementCheck {
+
+	private static final int DEFAULT_N_SAMPLES = 20_000;
+	// Cervelli valutati insieme: un blocco di BatchBrainEvaluator
+	private static final int N_BRAINS = 64;
+	private static final int WEIGHT_SCALES = 8;
+	private static final List<List<Integer>> V_SHAPES = List.of(BirdBrain.V_NEURONS, List.of(16, 8, 1));
+
+	// Errore massimo rispetto a SIGMOID dichiarato in Activation (HARD_SIGMOID: valore analitico in x = ±2.5, con tolleranza di arrotondamento)
+	private static final Map<Activation, Double> MAX_ERRORS = new EnumMap<>(Map.of(
+			Activation.SIGMOID_LUT, 3.0e-6,
+			Activation.SIGMOID_RATIONAL, 1.2e-2,
+			Activation.HARD_SIGMOID, 1 / (1 + Math.exp(2.5)) + 1e-12));
+
+	// Accordo minimo (%) delle decisioni con SIGMOID, sotto il caso peggiore misurato su 5 seed con input registrati (LUT 100%, rational 99.43%, hard 97.79%)
+	private static final Map<Activation, Double> MIN_AGREEMENTS = new EnumMap<>(Map.of(
+			Activation.SIGMOID_LUT, 99.99,
+			Activation.SIGMOID_RATIONAL, 99.0,
+			Activation.HARD_SIGMOID, 97.0));
+
+	// Costruttore privato per evitare l'istanziazione
+	private ActivationAgreementCheck() {
+		throw new UnsupportedOperationException("ActivationAgreementCheck is a utility class and cannot be instantiated.");
+	}
+
+	public static void main(String[] args) {
+		Map<String, String> options = CommandLineOptions.parse(args);
+
+		int nSamples = Integer.parseInt(options.getOrDefault("samples", String.valueOf(DEFAULT_N_SAMPLES)));
+		int nBirdsXGen = Integer.parseInt(options.getOrDefault("birds", "100"));
+		int sampleEvery = Integer.parseInt(options.getOrDefault("sampleEvery", "4"));
+		double maxGenSeconds = Double.parseDouble(options.getOrDefault("maxGenSeconds", "60"));
+		long seed = Long.parseLong(options.getOrDefault("seed", "1"));
+
+		if (sampleEvery <= 0) {
+			throw new IllegalArgumentException("Sample Interval Must be Greater than 0");
+		}
+
+		boolean isOk = true;
+		for (Activation activation : MAX_ERRORS.keySet()) {
+			double maxError = measureMaxError(activation);
+			boolean isErrorOk = maxError <= MAX_ERRORS.get(activation);
+			isOk &= isErrorOk;
+			System.out.println(String.join(" - ",
+					activation.name(),
+					"Max Error: " + String.format(Locale.ROOT, "%.3e", maxError) + " (Max " + String.format(Locale.ROOT, "%.3e", MAX_ERRORS.get(activation)) + ")",
+					isErrorOk ? "OK" : "FAILED"));
+		}
+
+		Random random = new Random(seed);
+		GameStats gameStats = new GameStats();
+		GameWorld gameWorld = new GameWorld(gameStats, nBirdsXGen, HeadlessTrainer.DEFAULT_BIRDS_REGEN_PERC,
+				HeadlessTrainer.DEFAULT_GAME_WIDTH, HeadlessTrainer.DEFAULT_GAME_HEIGHT, random);
+		gameWorld.setParallelism(1);
+		double[][] vInputs = recordInputs(gameWorld, gameStats, nSamples, sampleEvery, maxGenSeconds);
+		nSamples = vInputs.length;
+		System.out.println("Recorded Inputs: " + nSamples);
+
+		for (List<Integer> vNeurons : V_SHAPES) {
+			double[][] vGenomes = randomGenomes(topologyOf(vNeurons, Activation.SIGMOID), random);
+			long[] vExactJumps = evaluate(gameWorld, topologyOf(vNeurons, Activation.SIGMOID), vGenomes, vInputs);
+
+			for (Activation activation : MIN_AGREEMENTS.keySet()) {
+				long[] vJumps = evaluate(gameWorld, topologyOf(vNeurons, activation), vGenomes, vInputs);
+				long nSame = 0;
+				for (int s = 0; s < nSamples; ++s) {
+					nSame += Long.bitCount(~(vExactJumps[s] ^ vJumps[s]));
+				}
+
+				double agreement = 100.0 * nSame / ((long) nSamples * N_BRAINS);
+				boolean isAgreementOk = agreement >= MIN_AGREEMENTS.get(activation);
+				isOk &= isAgreementOk;
+				System.out.println(String.join(" - ",
+						vNeurons + " " + activation.name(),
+						"Decision Agreement: " + String.format(Locale.ROOT, "%.3f", agreement) + "% (Min " + MIN_AGREEMENTS.get(activation) + "%)",
+						isAgreementOk ? "OK" : "FAILED"));
+			}
+		}
+
+		if (!isOk) {
+			System.err.println("ACTIVATION APPROXIMATIONS OUT OF BOUNDS!");
+			System.exit(1);
+		}
+		System.out.println("Activation Approximations OK");
+	}
+
+	// Massima differenza assoluta da SIGMOID su [-30, 30] con passo 1e-4
+	private static double measureMaxError(Activation activation) {
+		double maxError = 0;
+		for (int i = -300_000; i <= 300_000; ++i) {
+			double x = i * 1e-4;
+			maxError = Math.max(maxError, Math.abs(activation.apply(x) - Activation.SIGMOID.apply(x)));
+		}
+		return maxError;
+	}
+
+	private static BrainTopology topologyOf(List<Integer> vNeurons, Activation activation) {
+		return new BrainTopology(vNeurons, Collections.nCopies(vNeurons.size(), activation));
+	}
+
+	// Input grezzi dello schema corrente (yBird, vyBird, yCenterTubeHole, xDistBirdTube) degli uccelli vivi ogni sampleEvery passi,
+	// generazione dopo generazione, finché sono almeno nSamples: quelli della decisione del passo successivo (stesso primo tubo di GameWorld)
+	// Sono registrati tutti gli uccelli di un passo, quindi l'ordine (non deterministico) del Set della vista non cambia il risultato
+	private static double[][] recordInputs(GameWorld gameWorld, GameStats gameStats, int nSamples, int sampleEvery, double maxGenSeconds) {
+		List<double[]> vInputs = new ArrayList<>(nSamples);
+		List<FlappyBird> vBirds = new ArrayList<>();
+
+		while (vInputs.size() < nSamples) {
+			gameWorld.startGen();
+
+			for (long s = 0; !gameWorld.isGenOver() && vInputs.size() < nSamples
+					&& (maxGenSeconds <= 0 || gameStats.currLifeTime < maxGenSeconds); ++s) {
+				gameWorld.step(HeadlessTrainer.DEFAULT_DT);
+				if (s % sampleEvery != 0) {
+					continue;
+				}
+
+				TubePair firstTubePair = null;
+				vBirds.clear();
+				for (AbstractGameObject gameObject : gameWorld.getGameObjectsSnapshot()) {
+					if (gameObject instanceof FlappyBird bird) {
+						vBirds.add(bird);
+					} else if (gameObject instanceof TubePair tubePair && tubePair.x + TubePair.WIDTH >= GameWorld.BIRD_X
+							&& (firstTubePair == null || tubePair.x < firstTubePair.x)) {
+						firstTubePair = tubePair;
+					}
+				}
+
+				if (firstTubePair != null) {
+					for (FlappyBird bird : vBirds) {
+						vInputs.add(new double[] {bird.y, bird.vy, firstTubePair.getYTubeHoleCenter(), firstTubePair.x - GameWorld.BIRD_X});
+					}
+				}
+			}
+
+			gameWorld.prepareForNewGen();
+		}
+
+		return vInputs.toArray(double[][]::new);
+	}
+
+	// Genomi di N_BRAINS cervelli casuali, con i pesi del cervello b moltiplicati per 1 + b * WEIGHT_SCALES / N_BRAINS
+	private static double[][] randomGenomes(BrainTopology topology, Random random) {
+		double[][] vGenomes = new double[N_BRAINS][topology.getGenomeSize()];
+		for (int b = 0; b < N_BRAINS; ++b) {
+			new BirdBrain(topology, random).copyGenomeTo(vGenomes[b], 0);
+
+			int scale = 1 + b * WEIGHT_SCALES / N_BRAINS;
+			for (int w = 0; w < topology.getNWeights(); ++w) {
+				vGenomes[b][w] *= scale;
+			}
+		}
+		return vGenomes;
+	}
+
+	// Maschera dei salti dei N_BRAINS cervelli per ogni campione di input
+	// Normalizzazione con le dimensioni del mondo che ha prodotto gli input
+	private static long[] evaluate(GameWorld gameWorld, BrainTopology topology, double[][] vGenomes, double[][] vInputs) {
+		BatchBrainEvaluator evaluator = new BatchBrainEvaluator(topology, N_BRAINS);
+		evaluator.setInputRanges(gameWorld.getGameWidth(), gameWorld.getGameHeight(), FlappyBird.getMaxSpeed(gameWorld.getGameHeight()));
+		for (int b = 0; b < N_BRAINS; ++b) {
+			evaluator.loadWeights(b, BirdBrain.fromGenome(topology, vGenomes[b], 0));
+		}
+
+		long[] vActiveWords = {-1L};
+		long[] vJumps = new long[vInputs.length];
+		for (int s = 0; s < vInputs.length; ++s) {
+			double[] input = vInputs[s];
+			for (int b = 0; b < N_BRAINS; ++b) {
+				evaluator.setInputs(b, input[0], input[1], input[2], input[3]);
+			}
+			vJumps[s] = evaluator.evaluate(N_BRAINS, vActiveWords)[0];
+		}
+		return vJumps;
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,165 @@
+/**
+ * @author Federico Sabbatani
+ */
+
+package flappyBirdAI.controller;
+
+import flappyBirdAI.ai.BirdBrain;
+import flappyBirdAI.model.entities.FlappyBird;
+import flappyBirdAI.utils.CommandLineOptions;
+import java.util.Map;
+import java.util.Random;
+
+// Controllo del budget di allocazione del ciclo di simulazione: esce con codice 1 se a regime si alloca più del budget
+// Uso: java flappyBirdAI.controller.AllocationBudgetCheck --birds=1000 --warmupGens=10 --gens=3 --maxGenSeconds=60 --budget=1 --seed=1
+// Misura i byte allocati dal thread corrente, quindi il mondo usa un solo worker (nessuna porzione eseguita su altri thread)
+// Il passo del mondo è l'intero GameWorld.step(): popolazione, tubi, BatchBrainEvaluator e riduzioni
+// Esclusi startGen() e prepareForNewGen(): la creazione di una generazione alloca, i passi di simulazione no
+// Fallisce anche se le misure non coprono entrambe le decisioni del cervello o se il mondo non prende decisioni
+public final class AllocationBudgetCheck {
+
+	// Byte ammessi a regime per chiamata del cervello e per passo del mondo (il JIT elimina le allocazioni residue dopo il riscaldamento)
+	// Il budget del mondo è per passo e non per passo di uccello: un oggetto per frame diviso per gli uccelli vivi resterebbe sotto qualsiasi soglia
+	private static final double DEFAULT_BUDGET_BYTES = 1;
+	// Chiamate di setInputs() + think() di un BirdBrain, prima per il JIT e poi misurate
+	private static final int N_BRAIN_WARMUP_CALLS = 100_000, N_BRAIN_CALLS = 1_000_000;
+	// Cervelli casuali provati (e input di prova per ognuno) per trovarne uno che prenda entrambe le decisioni: molti saturano e non saltano mai
+	private static final int MAX_BRAIN_ATTEMPTS = 1000, N_BRAIN_PROBE_CALLS = 1000;
+
+	// Costruttore privato per evitare l'istanziazione
+	private AllocationBudgetCheck() {
+		throw new UnsupportedOperationException("AllocationBudgetCheck is a utility class and cannot be instantiated.");
+	}
+
+	public static void main(String[] args) {
+		Map<String, String> options = CommandLineOptions.parse(args);
+
+		int nBirdsXGen = Integer.parseInt(options.getOrDefault("birds", String.valueOf(HeadlessTrainer.DEFAULT_N_BIRDS)));
+		int nWarmupGens = Integer.parseInt(options.getOrDefault("warmupGens", "10"));
+		int nGens = Integer.parseInt(options.getOrDefault("gens", "3"));
+		double maxGenSeconds = Double.parseDouble(options.getOrDefault("maxGenSeconds", "60"));
+		double budget = Double.parseDouble(options.getOrDefault("budget", String.valueOf(DEFAULT_BUDGET_BYTES)));
+		long seed = Long.parseLong(options.getOrDefault("seed", "1"));
+
+		if (HeadlessTrainer.getThreadAllocatedBytes() < 0) {
+			System.err.println("Thread Allocated Memory Not Supported by this JVM");
+			System.exit(1);
+		}
+
+		double brainBytes = measureBrain(new Random(seed));
+		double worldBytes = measureWorld(nBirdsXGen, nWarmupGens, nGens, maxGenSeconds, new Random(seed));
+		if (Double.isNaN(brainBytes) || Double.isNaN(worldBytes)) {
+			System.err.println("ALLOCATION BUDGET NOT MEASURED! " + (Double.isNaN(brainBytes) ? "BirdBrain Decisions Not Covered " : "") + (Double.isNaN(worldBytes) ? "GameWorld Made No Decisions" : ""));
+			System.exit(1);
+		}
+
+		boolean isBrainOk = brainBytes <= budget, isWorldOk = worldBytes <= budget;
+		System.out.println(String.join(" - ",
+				"BirdBrain setInputs + think: " + GameClock.roundAndFormatTwoDecimals(brainBytes) + "B/Call",
+				"GameWorld step: " + GameClock.roundAndFormatTwoDecimals(worldBytes) + "B/Step",
+				"Budget: " + GameClock.roundAndFormatTwoDecimals(budget) + "B"));
+
+		if (!isBrainOk || !isWorldOk) {
+			System.err.println("ALLOCATION BUDGET EXCEEDED! " + (isBrainOk ? "" : "BirdBrain ") + (isWorldOk ? "" : "GameWorld"));
+			System.exit(1);
+		}
+		System.out.println("Allocation Budget OK");
+	}
+
+	// Byte per chiamata di setInputs() + think() sul percorso a oggetti del cervello, NaN se le chiamate misurate non coprono salto e non salto
+	private static double measureBrain(Random random) {
+		BirdBrain brain = findBrainWithBothDecisions(random);
+		if (brain == null) {
+			System.out.println("BirdBrain Jumps: No Brain with Both Decisions in " + MAX_BRAIN_ATTEMPTS + " Attempts");
+			return Double.NaN;
+		}
+
+		// Il numero di salti è stampato per evitare che il JIT elimini le chiamate
+		int nJumps = 0;
+		long startAllocatedBytes = 0;
+		for (int i = 0; i < N_BRAIN_WARMUP_CALLS + N_BRAIN_CALLS; ++i) {
+			if (i == N_BRAIN_WARMUP_CALLS) {
+				startAllocatedBytes = HeadlessTrainer.getThreadAllocatedBytes();
+				nJumps = 0;
+			}
+			if (thinkOnRandomInputs(brain, random)) {
+				++nJumps;
+			}
+		}
+		long allocatedBytes = HeadlessTrainer.getThreadAllocatedBytes() - startAllocatedBytes;
+
+		System.out.println("BirdBrain Jumps: " + nJumps + "/" + N_BRAIN_CALLS);
+		return nJumps == 0 || nJumps == N_BRAIN_CALLS ? Double.NaN : (double) allocatedBytes / N_BRAIN_CALLS;
+	}
+
+	// Primo cervello casuale che su N_BRAIN_PROBE_CALLS input di prova sia salta sia non salta, null se nessuno in MAX_BRAIN_ATTEMPTS tentativi
+	private static BirdBrain findBrainWithBothDecisions(Random random) {
+		int gameHeight = HeadlessTrainer.DEFAULT_GAME_HEIGHT;
+		int nJumps;
+
+		for (int a = 0; a < MAX_BRAIN_ATTEMPTS; ++a) {
+			BirdBrain brain = new BirdBrain(random);
+			brain.setInputRanges(HeadlessTrainer.DEFAULT_GAME_WIDTH, gameHeight, FlappyBird.getMaxSpeed(gameHeight));
+
+			nJumps = 0;
+			for (int i = 0; i < N_BRAIN_PROBE_CALLS; ++i) {
+				if (thinkOnRandomInputs(brain, random)) {
+					++nJumps;
+				}
+			}
+			if (nJumps > 0 && nJumps < N_BRAIN_PROBE_CALLS) {
+				return brain;
+			}
+		}
+
+		return null;
+	}
+
+	// Input casuali negli intervalli del mondo di default
+	private static boolean thinkOnRandomInputs(BirdBrain brain, Random random) {
+		int gameWidth = HeadlessTrainer.DEFAULT_GAME_WIDTH, gameHeight = HeadlessTrainer.DEFAULT_GAME_HEIGHT;
+		double maxBirdSpeed = FlappyBird.getMaxSpeed(gameHeight);
+
+		brain.setInputs(random.nextDouble(gameHeight), random.nextDouble(-maxBirdSpeed, maxBirdSpeed), random.nextDouble(gameHeight), random.nextDouble(gameWidth));
+		return brain.think();
+	}
+
+	// Byte per chiamata di GameWorld.step() nelle generazioni misurate, dopo nWarmupGens generazioni di riscaldamento
+	// NaN se nei passi misurati il mondo non ha valutato nessun cervello (il percorso di BatchBrainEvaluator non sarebbe misurato)
+	private static double measureWorld(int nBirdsXGen, int nWarmupGens, int nGens, double maxGenSeconds, Random random) {
+		GameStats gameStats = new GameStats();
+		GameWorld gameWorld = new GameWorld(gameStats, nBirdsXGen, HeadlessTrainer.DEFAULT_BIRDS_REGEN_PERC,
+				HeadlessTrainer.DEFAULT_GAME_WIDTH, HeadlessTrainer.DEFAULT_GAME_HEIGHT, random);
+		gameWorld.setParallelism(1);
+
+		long allocatedBytes = 0, nSteps = 0, birdSteps = 0, birdDecisions = 0;
+		for (int g = 0; g < nWarmupGens + nGens; ++g) {
+			gameWorld.startGen();
+
+			long nGenSteps = 0, startBirdSteps = gameWorld.getBirdSteps(), startBirdDecisions = gameWorld.getBirdDecisions();
+			long startAllocatedBytes = HeadlessTrainer.getThreadAllocatedBytes();
+			while (!gameWorld.isGenOver() && (maxGenSeconds <= 0 || gameStats.currLifeTime < maxGenSeconds)) {
+				gameWorld.step(HeadlessTrainer.DEFAULT_DT);
+				++nGenSteps;
+			}
+			if (g >= nWarmupGens) {
+				allocatedBytes += HeadlessTrainer.getThreadAllocatedBytes() - startAllocatedBytes;
+				nSteps += nGenSteps;
+				birdSteps += gameWorld.getBirdSteps() - startBirdSteps;
+				birdDecisions += gameWorld.getBirdDecisions() - startBirdDecisions;
+			}
+
+			gameWorld.prepareForNewGen();
+		}
+
+		System.out.println(String.join(" - ",
+				"GameWorld Steps: " + nSteps,
+				"Bird Steps: " + birdSteps,
+				"Bird Decisions: " + birdDecisions,
+				"Allocated: " + allocatedBytes + "B",
+				"Alloc/Bird Step: " + GameClock.roundAndFormatTwoDecimals((double) allocatedBytes / Math.max(1, birdSteps)) + "B",
+				"Max Tube Passed: " + gameStats.maxTubePassed));
+		return birdDecisions == 0 ? Double.NaN : (double) allocatedBytes / nSteps;
+	}
+
+}
\ No newline at end of file
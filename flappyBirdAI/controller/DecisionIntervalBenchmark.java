@@ -0,0 +1,112 @@
+/**
+ * @author Federico Sabbatani
+ */
+
+package flappyBirdAI.controller;
+
+import flappyBirdAI.utils.CommandLineOptions;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+// Benchmark dell'action repeat (HeadlessTrainer --decisionInterval=k) per più valori di k, su un solo thread
+// Uso: java flappyBirdAI.controller.DecisionIntervalBenchmark --intervals=1,2,4,8 --speedBirds=2000 --warmupGens=3 --speedGens=15 --birds=1000 --runs=6 --targetTubes=30 --maxGens=40 --maxGenSeconds=150 --seed=1
+// Velocità: passi di uccello al secondo e decisioni per passo (costo di inferenza relativo) su speedGens generazioni di speedBirds uccelli,
+// dopo warmupGens generazioni non misurate (JIT)
+// Apprendimento: per ogni k, runs addestramenti con seed diversi (seed, seed + 1, ...) fino a targetTubes tubi superati o maxGens generazioni
+public final class DecisionIntervalBenchmark {
+
+	private static final String DEFAULT_INTERVALS = "1,2,4,8";
+
+	// Costruttore privato per evitare l'istanziazione
+	private DecisionIntervalBenchmark() {
+		throw new UnsupportedOperationException("DecisionIntervalBenchmark is a utility class and cannot be instantiated.");
+	}
+
+	public static void main(String[] args) {
+		Map<String, String> options = CommandLineOptions.parse(args);
+
+		List<Integer> vIntervals = new ArrayList<>();
+		for (String token : options.getOrDefault("intervals", DEFAULT_INTERVALS).split(",")) {
+			vIntervals.add(Integer.parseInt(token.trim()));
+		}
+		int nSpeedBirds = Integer.parseInt(options.getOrDefault("speedBirds", "2000"));
+		int nWarmupGens = Integer.parseInt(options.getOrDefault("warmupGens", "3"));
+		int nSpeedGens = Integer.parseInt(options.getOrDefault("speedGens", "15"));
+		int nBirdsXGen = Integer.parseInt(options.getOrDefault("birds", String.valueOf(HeadlessTrainer.DEFAULT_N_BIRDS)));
+		int nRuns = Integer.parseInt(options.getOrDefault("runs", "6"));
+		int targetTubes = Integer.parseInt(options.getOrDefault("targetTubes", "30"));
+		int maxGens = Integer.parseInt(options.getOrDefault("maxGens", "40"));
+		double maxGenSeconds = Double.parseDouble(options.getOrDefault("maxGenSeconds", "150"));
+		long seed = Long.parseLong(options.getOrDefault("seed", "1"));
+
+		if (targetTubes <= 0) {
+			throw new IllegalArgumentException("Target Tubes Must be Greater than 0");
+		}
+
+		for (int decisionInterval : vIntervals) {
+			HeadlessTrainer trainer = createTrainer(nSpeedBirds, maxGenSeconds, decisionInterval, seed);
+			for (int g = 0; g < nWarmupGens; ++g) {
+				trainer.playOneGen();
+			}
+
+			long startBirdSteps = trainer.getBirdSteps(), startBirdDecisions = trainer.getBirdDecisions();
+			long startTime = System.nanoTime();
+			for (int g = 0; g < nSpeedGens; ++g) {
+				trainer.playOneGen();
+			}
+			double elapsedS = (System.nanoTime() - startTime) / 1e9;
+			long birdSteps = trainer.getBirdSteps() - startBirdSteps, birdDecisions = trainer.getBirdDecisions() - startBirdDecisions;
+
+			System.out.println(String.join(" - ",
+					"Speed k=" + decisionInterval,
+					"Decisions/Bird Step: " + GameClock.roundAndFormatTwoDecimals((double) birdDecisions / Math.max(1, birdSteps)),
+					"Bird Steps/s: " + GameClock.roundAndFormatTwoDecimals(birdSteps / elapsedS)));
+		}
+
+		for (int decisionInterval : vIntervals) {
+			List<Integer> vGensToTarget = new ArrayList<>(), vMissedMaxTubes = new ArrayList<>();
+
+			for (int r = 0; r < nRuns; ++r) {
+				HeadlessTrainer trainer = createTrainer(nBirdsXGen, maxGenSeconds, decisionInterval, seed + r);
+				GameStats gameStats = trainer.getGameStats();
+
+				int nGens = 0;
+				while (nGens < maxGens && gameStats.maxTubePassed < targetTubes) {
+					trainer.playOneGen();
+					++nGens;
+				}
+
+				if (gameStats.maxTubePassed >= targetTubes) {
+					vGensToTarget.add(nGens);
+				} else {
+					vMissedMaxTubes.add(gameStats.maxTubePassed);
+				}
+			}
+
+			System.out.println(String.join(" - ",
+					"Learning k=" + decisionInterval,
+					"Target " + targetTubes + " Tubes Reached: " + vGensToTarget.size() + "/" + nRuns,
+					"Median Gens to Target: " + (vGensToTarget.isEmpty() ? "N/A" : GameClock.roundAndFormatTwoDecimals(median(vGensToTarget))),
+					"Max Tubes of Missed Runs: " + vMissedMaxTubes));
+		}
+	}
+
+	private static HeadlessTrainer createTrainer(int nBirdsXGen, double maxGenSeconds, int decisionInterval, long seed) {
+		HeadlessTrainer trainer = new HeadlessTrainer(nBirdsXGen, HeadlessTrainer.DEFAULT_BIRDS_REGEN_PERC, HeadlessTrainer.DEFAULT_GAME_WIDTH,
+				HeadlessTrainer.DEFAULT_GAME_HEIGHT, HeadlessTrainer.DEFAULT_DT, maxGenSeconds, new Random(seed));
+		trainer.setParallelism(1);
+		trainer.setDecisionInterval(decisionInterval);
+		// Misura senza effetti collaterali: nessun file di autosave
+		trainer.getGameStats().isAutoSaveOnGenEnabled = false;
+		return trainer;
+	}
+
+	private static double median(List<Integer> values) {
+		List<Integer> vSorted = values.stream().sorted().toList();
+		int mid = vSorted.size() / 2;
+		return vSorted.size() % 2 == 1 ? vSorted.get(mid) : (vSorted.get(mid - 1) + vSorted.get(mid)) / 2.0;
+	}
+
+}
\ No newline at end of file
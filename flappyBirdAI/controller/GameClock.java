@@ -16,6 +16,11 @@ public final class GameClock {
     public static final int PAUSE_SLEEP_MS = 100;
   	public static final int MAX_FPS = 60;
   	private static final long TARGET_FRAME_TIME_NS = 1_000_000_000L / MAX_FPS;
+  	// Passo fisso della simulazione (s): ogni sotto-passo fisico dura sempre FIXED_DT_S indipendentemente da FPS e moltiplicatore
+  	public static final double FIXED_DT_S = 1.0 / MAX_FPS;
+  	// Limite del dt reale di un frame (s) per evitare salti di tempo anomali
+  	private static final double MAX_REAL_DT_S = 1.0 / 30.0;
+  	public static final int MIN_DT_MULTIPLIER = 1, MAX_DT_MULTIPLIER = 100;
   	// Numero di frame da considerare per la media mobile
     private static final int FPS_SAMPLE_SIZE = 30;
     // Fattore di smoothing per la media pesata esponenziale (EMA)
@@ -40,6 +45,8 @@ public final class GameClock {
     private long lastUpdateTime;
     // Permette slow-motion o fast-forward
     private double dtMultiplier = 1.0; 
+    // Tempo di gioco accumulato non ancora simulato (s), consumato a passi di FIXED_DT_S
+    private double dtAccumulator = 0;
 
     // --- Cronometro Totale ---
     // Sessione: Tempo Trascorso dall'inizio della sessione di gioco/ultima ripresa del gioco fino alla pausa o al reset (ms)
@@ -182,7 +189,21 @@ public final class GameClock {
         lastUpdateTime = now;
         
         // Limitare il dt massimo a 1/30 secondi per evitare salti di tempo anomali
-        return Math.min(realDt, 1.0/30.0) * dtMultiplier;
+        return Math.min(realDt, MAX_REAL_DT_S) * dtMultiplier;
+    }
+    
+    // Accumula il delta time del frame e ritorna il numero di sotto-passi fissi (di FIXED_DT_S) da simulare
+    // Il moltiplicatore aumenta il numero di passi, non la loro durata, quindi la simulazione resta deterministica
+    public int getFixedStepsToRun() {
+    	dtAccumulator += getDeltaTime();
+    	
+    	// Scartare il tempo arretrato oltre un frame massimo per evitare la "spirale della morte" se la simulazione non tiene il passo
+    	dtAccumulator = Math.min(dtAccumulator, MAX_REAL_DT_S * dtMultiplier);
+    	
+    	int nSteps = (int) (dtAccumulator / FIXED_DT_S);
+    	dtAccumulator -= nSteps * FIXED_DT_S;
+    	
+    	return nSteps;
     }
 
     // Ottenere il tempo totale di gioco in millisecondi
@@ -227,6 +248,7 @@ public final class GameClock {
     // Reset Totale Clock e riavvio della sessione
     public void reset() {
     	totElapsedPastSessionsTime = 0;
+    	dtAccumulator = 0;
     	startSession();
     	setLastUpdateTimeNow();
     }
@@ -236,7 +258,10 @@ public final class GameClock {
         return isGameRunning;
     }
     
-    public void setDtMultiplier(double multiplier) {
+    public void setDtMultiplier(double multiplier) throws IllegalArgumentException {
+    	if (multiplier < MIN_DT_MULTIPLIER || multiplier > MAX_DT_MULTIPLIER) {
+    		throw new IllegalArgumentException("Dt Multiplier Must be Between " + MIN_DT_MULTIPLIER + " and " + MAX_DT_MULTIPLIER);
+    	}
         dtMultiplier = multiplier;
     }
     
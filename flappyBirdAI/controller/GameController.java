@@ -6,8 +6,6 @@ package flappyBirdAI.controller;
 
 import flappyBirdAI.ai.BirdBrain;
 import flappyBirdAI.model.AbstractGameObject;
-import flappyBirdAI.model.entities.FlappyBird;
-import flappyBirdAI.model.entities.TubePair;
 import flappyBirdAI.view.GameView;
 import javafx.application.Platform;
 import flappyBirdAI.persistence.BirdBrainFileStorage;
@@ -17,20 +15,14 @@ import java.nio.file.Path;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.Optional;
-import java.util.Map;
 import java.util.Objects;
-import java.util.HashMap;
-import java.util.HashSet;
-import java.awt.Rectangle;
 
 public final class GameController {
 	
-	public static final int MIN_N_BIRDS_X_GEN = 1;
-	public static final int MAX_N_BIRDS_X_GEN = 100000;
+	public static final int MIN_N_BIRDS_X_GEN = GameWorld.MIN_N_BIRDS_X_GEN;
+	public static final int MAX_N_BIRDS_X_GEN = GameWorld.MAX_N_BIRDS_X_GEN;
     
     private final GameView gameView;
-    private final Set<AbstractGameObject> vGameObj;
-    private final Map<String, Double> brainInputMap = new HashMap<>(BirdBrain.NUM_INPUT);
     
     // Game Engine Variables
     
@@ -47,26 +39,16 @@ public final class GameController {
     // Game Clock
     private final GameClock gameClock = new GameClock();
     
-    private final int nBirdsXGen, nBirdsRegen;
-    private int lastGameHeight;
-    private Optional<BirdBrain> bestBirdBrainOpt = Optional.empty();
+    // Simulazione di Gioco (indipendente dalla vista)
+    private final GameWorld gameWorld;
     
     // Flag per Richiesta di Reset del Gioco per Caricamento Cervello da File
     private boolean brainLoadRequest = false;
 
 	public GameController(GameView gameView, int nBirdsXGen, int birdsRegenPerc) throws NullPointerException, IllegalArgumentException {
 		this.gameView = Objects.requireNonNull(gameView, "GameView Cannot be Null");
-		if (nBirdsXGen < MIN_N_BIRDS_X_GEN) {
-			throw new IllegalArgumentException("Number of Birds per Generation Must Be Greater than 0");
-		}
-		if (birdsRegenPerc < 0 || birdsRegenPerc > 100) {
-	        throw new IllegalArgumentException("Birds Regeneration Percentage Must Be Between 0 and 100");
-	    }
-		
-		this.nBirdsXGen = nBirdsXGen;
-		this.nBirdsRegen = (int) (nBirdsXGen * (birdsRegenPerc / 100.0));
+		this.gameWorld = new GameWorld(gameStats, nBirdsXGen, birdsRegenPerc, gameView.getGameWidth(), gameView.getGameHeight());
 		
-		vGameObj = new HashSet<>(nBirdsXGen + 15); // Capacità Iniziale Stimata (nBirds + TubePairs)
 		gameView.setController(this);
 		gameClock.start();
 	}
@@ -74,32 +56,25 @@ public final class GameController {
 	// Game Logic Methods
 	
 	public void playOneGen() throws RuntimeException {
-		// Copia per efficienza per evitare chiamate multiple a metodi sincronizzati
-		int gameHeight, gameWidth;
-		// Delta Time del Gioco - Influenzato dal Dt Multiplier
-		double dt;
+		// Numero di Sotto-Passi Fissi da Simulare nel Frame - Influenzato dal Dt Multiplier
+		int nFixedSteps;
 		long sleepTime;
 		boolean isGameRunning;
-		Optional<TubePair> firstTubePairOpt;
-		TubePair previousFirstTubePair = null, currTargetTubePair;
-		Optional<FlappyBird> randBirdOpt;
 		Optional<BirdBrain> autoSaveInGenBrain, autoSaveEndGenBrain;
-		FlappyBird randBird;
 		// Copia Snapshot per Thread-Safety
 		Set<AbstractGameObject> vGameObjSnapshot;
 		
-		lastGameHeight = getGameHeight();
-		
 		synchronized (lock) {
+			gameWorld.setGameSize(getGameWidth(), getGameHeight());
+			
 			// Avviare una nuova sessione a inizio gioco (prima generazione)
 			if (isFirstGen()) {
 				gameClock.startSession();
-				// Aggiungere Uccelli alla Prima Generazione
-				addFirstGenBirds();
 				gameView.startChronometerTimer();
 			}
-			addNewTubePair();
-			vGameObjSnapshot = new HashSet<>(vGameObj);
+			// Aggiungere Uccelli alla Prima Generazione e il Primo Tubo
+			gameWorld.startGen();
+			vGameObjSnapshot = gameWorld.getGameObjectsSnapshot();
 			gameClock.setLastUpdateTimeNow();
 		}
 		
@@ -110,7 +85,7 @@ public final class GameController {
 		while (true) {
 			synchronized (lock) {
 				// Controllo di Uscita dal Ciclo di Gioco
-				if (gameStats.nBirds == 0 || brainLoadRequest) {
+				if (gameWorld.isGenOver() || brainLoadRequest) {
 					break;
 				}
 				
@@ -125,7 +100,7 @@ public final class GameController {
 					
 					synchronized (lock) {
 						// Aggiornare la vista per mostrare lo stato di pausa e animazioni
-			            gameView.updateDisplay(gameStats, new HashSet<>(vGameObj));
+			            gameView.updateDisplay(gameStats, gameWorld.getGameObjectsSnapshot());
 					}
 					
 					// Sleep per Ridurre l'Utilizzo della CPU Durante la Pausa
@@ -143,56 +118,25 @@ public final class GameController {
 			
 			synchronized (lock) {
 
-				// Calcolo del Tempo trascorso in Secondi tra Frames (Delta Time del Gioco - Influenzato dal Dt Multiplier)
-				dt = gameClock.getDeltaTime();
+				// Calcolo dei Sotto-Passi Fissi da Simulare in base al Tempo trascorso tra Frames (Influenzato dal Dt Multiplier)
+				nFixedSteps = gameClock.getFixedStepsToRun();
 				
-				// Aggiornare copia di gameHeight e gameWidth per evitare chiamate multiple a metodi sincronizzati
-				gameHeight = getGameHeight();
-				gameWidth = getGameWidth();
+				// Controllo se le Dimensioni della Finestra di Gioco sono Cambiate (ricrea i Tube se cambia l'altezza)
+				gameWorld.setGameSize(getGameWidth(), getGameHeight());
 				
-				// Controllo se l'Altezza della Finestra di Gioco è Cambiata
-				if (lastGameHeight != gameHeight) {
-					// Ricreare tutti i Tube con la Nuova Altezza
-					recreateTubePairs(gameHeight);
-					lastGameHeight = gameHeight;
-				}
-				
-				randBirdOpt = getRandomBird();
+				autoSaveInGenBrain = Optional.empty();
 				
-				// Aggiornare Statistica Tempo di Vita Attuale, Migliore e Cervello del Miglior Uccello
-	        	if (randBirdOpt.isPresent() && (randBird = randBirdOpt.get()).lifeTime > gameStats.currLifeTime) {
-	        		gameStats.currLifeTime = randBird.lifeTime;
-	            	
-	            	// Nuovo Record di Vita
-	            	if (gameStats.currLifeTime > gameStats.bestLifeTime) {
-						gameStats.bestLifeTime = randBird.lifeTime;
-						bestBirdBrainOpt = Optional.of(randBird.getBrain());
-					}
-	            }
-	        	
-	        	firstTubePairOpt = getFirstTubePair(randBirdOpt);
-				if (firstTubePairOpt.isPresent()) {
-					currTargetTubePair = firstTubePairOpt.get();
+				// Aggiornare Oggetti di Gioco a Passi Fissi (deterministici), più passi per frame ad alta velocità
+				for (int i = 0; i < nFixedSteps && !gameWorld.isGenOver(); ++i) {
+					gameWorld.step(GameClock.FIXED_DT_S);
 					
-					if (previousFirstTubePair == null) {
-						previousFirstTubePair = currTargetTubePair;
-					} else if (!currTargetTubePair.equals(previousFirstTubePair)) {
-						++gameStats.nTubePassed;
-						
-						if (gameStats.nTubePassed > gameStats.maxTubePassed) {
-				            gameStats.maxTubePassed = gameStats.nTubePassed;
-				        }
-						
-				        previousFirstTubePair = currTargetTubePair;
+					// Controllo se autosave durante la generazione è da fare a ogni passo per non saltare soglie ad alta velocità
+					Optional<BirdBrain> stepAutoSaveBrain = gameWorld.checkAutoSaveInGen();
+					if (stepAutoSaveBrain.isPresent()) {
+						autoSaveInGenBrain = stepAutoSaveBrain;
 					}
 				}
 				
-				
-				// Aggiornare Oggetti di Gioco
-	            updateGameObjects(dt, gameWidth, gameHeight, getTubeHitBoxes(firstTubePairOpt), firstTubePairOpt);
-	            deleteDeadGameObjects();
-				checkNewTube(gameWidth);
-				
 				sleepTime = gameClock.setFrameEndTime();
 				
 				// Aggiornare Statistica FPS
@@ -212,10 +156,7 @@ public final class GameController {
 				// - game objects (potenzialmente molti, es. migliaia di bird): 
 				//   Soluzione 2 (volatile) se il difetto visivo di un frame "storto" è accettabile (costo ~0)
 				//   Soluzione 1 (snapshot) se serve consistenza garantita, valutando il costo di allocazione a frame
-				gameView.updateDisplay(gameStats, new HashSet<>(vGameObj));
-	            
-	            // Controllo se autosave durante la generazione è da fare e ritorna Optional<BirdBrain> con bestBirdBrain da salvare se è il momento di fare l'autosave, altrimenti Optional vuoto
-	            autoSaveInGenBrain = checkAutoSaveInGen();
+				gameView.updateDisplay(gameStats, gameWorld.getGameObjectsSnapshot());
 			}
 			
 			// Autosave fatta fuori da synchronized per evitare di bloccare il thread di gioco durante serializzazione JSON di brain
@@ -243,8 +184,8 @@ public final class GameController {
 			    prepareForLoadedBrain();
 			} else {
 				// Controllo se autosave a fine generazione è da fare e ritorna Optional<BirdBrain> con bestBirdBrain da salvare se è il momento di fare l'autosave, altrimenti Optional vuoto
-				autoSaveEndGenBrain = checkAutoSaveOnEndGen();
-				prepareForNewGen();
+				autoSaveEndGenBrain = gameWorld.checkAutoSaveOnEndGen();
+				gameWorld.prepareForNewGen();
 			}
 		}
 		
@@ -254,220 +195,11 @@ public final class GameController {
 	
 	public void resetGame() {	
 		synchronized (lock) {
-	        gameStats.resetToFirstGen();
 	        gameClock.reset();
-	        
-	        vGameObj.clear();
-	        bestBirdBrainOpt = Optional.empty();
-	        
-	        addNewTubePair();
+	        gameWorld.reset();
 	    }
 	}
 	
-	private Rectangle[] getTubeHitBoxes(Optional<TubePair> firstTubePairOpt) {
-		return firstTubePairOpt.isPresent() ? firstTubePairOpt.get().getHitBox() : new Rectangle[0];
-	}
-	
-	private void recreateTubePairs(int gameHeight) {
-		Set<TubePair> newTubePairs = new HashSet<>(15);
-		double holeRatio;
-		for (AbstractGameObject obj : vGameObj) {
-			if (obj instanceof TubePair currTubePair && currTubePair.isAlive()) {
-				// Mantenere la posizione relativa del buco rispetto alla vecchia altezza
-				holeRatio = (double) currTubePair.getYTubeHoleCenter() / lastGameHeight;
-				newTubePairs.add(new TubePair(currTubePair.x, gameHeight, holeRatio));
-			}
-		}
-		
-		// Rimuovere tutti i TubePair esistenti e aggiungere i nuovi
-		vGameObj.removeIf(obj -> obj instanceof TubePair);
-		vGameObj.addAll(newTubePairs);
-	}
-
-	private void updateGameObjects(double dt, int gameWidth, int gameHeight, Rectangle[] tubeHitBoxes, Optional<TubePair> firstTubePairOpt) {
-        TubePair firstTubePair;
-        
-		for (AbstractGameObject obj : vGameObj) {
-        	
-            if (obj instanceof FlappyBird currBird && currBird.isAlive()) {
-                
-            	// Controllo Collisioni e Limiti Schermo - Flappy Bird Morto
-                if (currBird.checkCollision(tubeHitBoxes) || currBird.isOutOfScreen(gameWidth, gameHeight)) {
-                    currBird.setAlive(false);
-        			--gameStats.nBirds;
-                    continue;
-                    
-                // AI Decision
-                } else if (firstTubePairOpt.isPresent()) {
-                	
-                	firstTubePair = firstTubePairOpt.get();
-                	
-                	brainInputMap.put("yBird", (double) currBird.y);
-                	brainInputMap.put("vyBird", currBird.vy);
-                	brainInputMap.put("yCenterTubeHole", (double) firstTubePair.getYTubeHoleCenter());
-                	brainInputMap.put("xDistBirdTube", (double) firstTubePair.x - currBird.x);
-
-                	currBird.getBrain().setInputs(brainInputMap);
-                    
-                    if (currBird.think()) {
-                        currBird.jump();
-                    }
-                }
-                
-                currBird.updateXY(dt);
-                
-            } else if (obj instanceof TubePair currTubePair && currTubePair.isAlive()) {
-            	// Rimuovere i Tube che sono usciti dallo schermo           
-                if (currTubePair.isOutOfScreen(gameWidth, gameHeight)) {
-                    currTubePair.setAlive(false);
-                } else {
-                    currTubePair.updateXY(dt);
-                }
-            }
-        }
-    }
-	
-	private void deleteDeadGameObjects() {
-		vGameObj.removeIf(obj -> !obj.isAlive());
-	}
-	
-	private Optional<FlappyBird> getRandomBird() {
-        for (AbstractGameObject obj : vGameObj) {
-            if (obj instanceof FlappyBird currBird && currBird.isAlive()) {
-                return Optional.of(currBird);
-            }
-        }
-        return Optional.empty();
-    }
-	
-	private Optional<TubePair> getFirstTubePair(Optional<FlappyBird> birdOpt) {
-		if (birdOpt.isEmpty()) {
-			return Optional.empty();
-		}
-		
-		FlappyBird bird = birdOpt.get();
-		TubePair firstTubePair = null;
-		
-		for (AbstractGameObject obj : vGameObj) {
-			if (obj instanceof TubePair currTubePair && currTubePair.isAlive()) {
-				if (firstTubePair == null || (currTubePair.x < firstTubePair.x && (currTubePair.x + TubePair.WIDTH) >= bird.x)) {
-					firstTubePair = currTubePair;
-				}
-			}
-		}
-		
-		return Optional.ofNullable(firstTubePair);
-	}
-
-	private void checkNewTube(int gameWidth) {
-		TubePair lastTubePair = null;
-		
-        for (AbstractGameObject obj : vGameObj) {
-            if (obj instanceof TubePair currTubePair && currTubePair.isAlive()) {
-            	// Tenere il TubePair con la x più grande (il più a destra)
-            	if (lastTubePair == null || currTubePair.x > lastTubePair.x) {
-            		lastTubePair = currTubePair;
-            	}
-            }
-        }
-
-		if (lastTubePair != null && lastTubePair.x + TubePair.WIDTH <= gameWidth - TubePair.DIST_X_BETWEEN_TUBES) {
-			addNewTubePair();
-		} else if (lastTubePair == null) {
-			addNewTubePair();
-		}
-	}
-	
-	private void addBirds(Set<AbstractGameObject> vBirds) {
-		vGameObj.addAll(vBirds);
-		gameStats.nBirds += vBirds.size();
-	}
-	
-	private Set<AbstractGameObject> createRandomBirds(int nBirds) {
-		Set<AbstractGameObject> vBirds = new HashSet<>(nBirds);
-		int startY = getGameHeight() / 2 - FlappyBird.HEIGHT / 2;
-		
-		for (int i = 0; i < nBirds; ++i) {
-			vBirds.add(new FlappyBird(20, startY, new BirdBrain()));
-		}
-		
-		return vBirds;
-	}
-
-	private Set<AbstractGameObject> createBrainedBirds(int nBirds, Optional<BirdBrain> bestBirdBrainOpt) {
-		if (bestBirdBrainOpt.isEmpty()) {
-			return createRandomBirds(nBirds);
-		}
-		
-		BirdBrain bestBirdBrain = bestBirdBrainOpt.get();
-		Set<AbstractGameObject> vBirds = new HashSet<>(nBirds);
-		int startY = getGameHeight() / 2 - FlappyBird.HEIGHT / 2;
-		FlappyBird bird;
-		
-		for (int i = 0; i < nBirds; ++i) {
-			bird = new FlappyBird(20, startY, bestBirdBrain);
-			bird.getBrain().updateWeights();
-			vBirds.add(bird);
-		}
-		
-		return vBirds;
-	}
-	
-	// Creazione Uccelli per la Prima Generazione, 2 casi: con bestBirdBrainOpt vuoto o non vuoto (in caso di caricamento cervello da file)
-	private void addFirstGenBirds() {
-		if (bestBirdBrainOpt.isPresent()) {
-			addBirds(createBrainedBirds(nBirdsXGen, bestBirdBrainOpt));
-		} else {
-			addBirds(createRandomBirds(nBirdsXGen));
-		}
-	}
-	
-	// Creazione Nuovi Uccelli per la Nuova Generazione Dopo la Prima (una parte con bestBirdBrain e una parte casuali)
-	private void addNewGenBirds() {
-		addBirds(createBrainedBirds(nBirdsRegen, getBestBirdBrain()));
-		addBirds(createRandomBirds(nBirdsXGen - nBirdsRegen));
-	}
-	
-	private void addNewTubePair() {
-		//Set<Tube> newTubePair = Tube.newTubePair(getGameWidth(), getGameHeight());
-	    //vGameObj.addAll(newTubePair);
-		vGameObj.add(new TubePair(getGameWidth(), getGameHeight()));
-	}
-	
-	// Controllo autosave a fine generazione (On Gen)
-	// ritorna Optional<BirdBrain> con bestBirdBrain da salvare se è il momento di fare l'autosave, altrimenti Optional vuoto
-	private Optional<BirdBrain> checkAutoSaveOnEndGen() {
-		// Controllo autosave per generazione
-    	if (gameStats.isAutoSaveOnGenEnabled && gameStats.nGen % gameStats.getAutoSaveGenThreshold() == 0) {
-			return bestBirdBrainOpt;
-    	}
-    	
-    	return Optional.empty();
-	}
-	
-	// Controllo autosave durante la generazione attuale (On BLT e On Max Tube Passed)
-	// ritorna Optional<BirdBrain> con bestBirdBrain da salvare se è il momento di fare l'autosave, altrimenti Optional vuoto
-	private Optional<BirdBrain> checkAutoSaveInGen() {
-		if (bestBirdBrainOpt.isEmpty()) {
-			return Optional.empty();
-		}
-		
-		// Controllo autosave per Best Life Time
-    	if (gameStats.isAutoSaveOnBLTEnabled && gameStats.bestLifeTime > 0 && Math.floor(gameStats.bestLifeTime) != gameStats.getLastSavedBLT() && Math.floor(gameStats.bestLifeTime) % gameStats.getAutoSaveBLTThreshold() == 0) {
-    		gameStats.setLastSavedBLT((int) Math.floor(gameStats.bestLifeTime));
-    		// Evitare salvataggi multipli per stesso Frame
-    		return bestBirdBrainOpt;
-    	}
-    	
-    	// Controllo autosave per Max Tube Passed
-    	if (gameStats.isAutoSaveOnMaxTubePassedEnabled && gameStats.maxTubePassed > 0 && gameStats.maxTubePassed != gameStats.getLastSavedMaxTubePassed() && gameStats.maxTubePassed % gameStats.getAutoSaveMaxTubePassedThreshold() == 0) {
-			gameStats.setLastSavedMaxTubePassed(gameStats.maxTubePassed);
-    		return bestBirdBrainOpt;
-    	}
-    	
-    	return Optional.empty();
-	}
-	
 	private void createAutoSaveFile(BirdBrain brain) {
 		// no try-catch attorno a saveAsync perchè ritorna subito un CompletableFuture e non lancia eccezioni, eventuali eccezioni sono catturate e gestite nel whenComplete
 		BirdBrainFileStorage.saveAsync(brain, gameStats)
@@ -481,19 +213,8 @@ public final class GameController {
 	
 	// Riavvio da Gen 1 dopo il caricamento di un cervello da file
 	private void prepareForLoadedBrain() {
-	    gameStats.resetToFirstGen();
+	    gameWorld.prepareForLoadedBrain();
 	    gameClock.reset();
-	    vGameObj.clear();
-	}
-	
-	// Transizione naturale alla generazione successiva
-	private void prepareForNewGen() {
-		++gameStats.nGen;
-		gameStats.nBirds = 0;
-		gameStats.nTubePassed = 0;
-		gameStats.currLifeTime = 0;
-		vGameObj.clear();
-		addNewGenBirds();
 	}
 	
 	private int getGameHeight() {
@@ -513,7 +234,7 @@ public final class GameController {
 	
 	public CompletableFuture<Void> saveBestBrainAsync(Path file) {
 		Optional<BirdBrain> brainOpt;
-		synchronized (lock) { brainOpt = bestBirdBrainOpt; }
+		synchronized (lock) { brainOpt = gameWorld.getBestBirdBrain(); }
 		
 		if (brainOpt.isEmpty()) {
 			return CompletableFuture.failedFuture(new NullPointerException("No Best Bird Brain to Save"));
@@ -528,7 +249,7 @@ public final class GameController {
 		return BirdBrainFileStorage.loadAsync(Path.of(filePath))
 		        .thenAccept(loadedBrain -> {
 		            synchronized (lock) {
-		                bestBirdBrainOpt = Optional.of(loadedBrain);
+		                gameWorld.setBestBirdBrain(loadedBrain);
 		                brainLoadRequest = true;
 		            }
 		        });
@@ -560,11 +281,11 @@ public final class GameController {
 	// Getter and Setter Methods
     
     public Optional<BirdBrain> getBestBirdBrain() {
-    	synchronized (lock) { return bestBirdBrainOpt; }
+    	synchronized (lock) { return gameWorld.getBestBirdBrain(); }
     }
     
     public void setBestBirdBrain(BirdBrain brain) {
-    	synchronized (lock) { bestBirdBrainOpt = Optional.of(brain); }
+    	synchronized (lock) { gameWorld.setBestBirdBrain(brain); }
     }
     
     public boolean isAutoSaveEnabled() {
@@ -25,6 +25,9 @@ public final class GameStats {
     public int fps = 0, nGen = 1, nBirds = 0, nTubePassed = 0, maxTubePassed = 0;
     // in secondi
     public double currLifeTime = 0, bestLifeTime = 0;
+    // Pool delle entità di gioco dall'avvio (non azzerati con la generazione): oggetti riutilizzati (hit) e creati (miss)
+    // Quello degli uccelli è solo di rendering: aggiornato da GameWorld.getGameObjectsSnapshot(), resta 0 senza vista
+    public long nTubePoolHits = 0, nTubePoolMisses = 0, nBirdPoolHits = 0, nBirdPoolMisses = 0;
     
     private int autoSaveGenThreshold = DEFAULT_AUTOSAVE_GEN_THRESHOLD;
     private int autoSaveBLTThreshold = DEFAULT_AUTOSAVE_BLT_THRESHOLD;
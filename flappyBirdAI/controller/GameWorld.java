@@ -0,0 +1,852 @@
+/**
+ * @author Federico Sabbatani
+ */
+
+package flappyBirdAI.controller;
+
+import flappyBirdAI.ai.BatchBrainEvaluator;
+import flappyBirdAI.ai.BirdBrain;
+import flappyBirdAI.ai.BrainTopology;
+import flappyBirdAI.ai.GeneticTrainer;
+import flappyBirdAI.ai.GenomePool;
+import flappyBirdAI.ai.Trainer;
+import flappyBirdAI.model.AbstractGameObject;
+import flappyBirdAI.model.BirdPopulation;
+import flappyBirdAI.model.SweptCollision;
+import flappyBirdAI.model.TubeCourse;
+import flappyBirdAI.model.TubePairQueue;
+import flappyBirdAI.model.entities.FlappyBird;
+import flappyBirdAI.model.entities.TubePair;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+// Simulazione di gioco senza dipendenze dalla vista (nessun GameView, Swing o JavaFX)
+// Usata sia da GameController (modalità a finestra) sia da HeadlessTrainer (modalità senza rendering)
+// Non thread-safe: la sincronizzazione è responsabilità del chiamante
+public final class GameWorld {
+
+	public static final int MIN_N_BIRDS_X_GEN = 1;
+	public static final int MAX_N_BIRDS_X_GEN = 100000;
+
+	// Posizione x fissa di tutti gli uccelli
+	public static final int BIRD_X = 20;
+
+	// Dimensioni minime del mondo: pannello di gioco minimo della vista e mondo di default senza vista
+	public static final int MIN_GAME_WIDTH = 1000;
+	public static final int MIN_GAME_HEIGHT = 500;
+
+	// Aggiornamento parallelo: parole del bitset (blocchi da 64 uccelli) minime per porzione, sotto le quali
+	// il costo di fork/join supera il guadagno, e porzioni per worker per bilanciare il carico con il work-stealing
+	private static final int MIN_WORDS_X_CHUNK = 8;
+	private static final int CHUNKS_X_WORKER = 4;
+
+	private final GameStats gameStats;
+	// TubePair ordinati per x: gli uccelli sono nella BirdPopulation
+	private final TubePairQueue tubes;
+	// Tubi in testa alla coda già superati dagli uccelli ma ancora sullo schermo: il prossimo da superare è tubes.get(nPassedTubes)
+	private int nPassedTubes = 0;
+	// TubePair usciti dallo schermo o scartati, reinizializzati da addNewTubePair(): a regime nessun tubo viene allocato
+	private final ArrayDeque<TubePair> tubePairPool = new ArrayDeque<>();
+	private final BirdPopulation population;
+	// Pesi di ogni uccello, allo stesso indice della popolazione, riutilizzati tra le generazioni
+	// Doppio buffer: i figli sono scritti in nextGenomePool mentre i genitori sono letti da genomePool, poi i due si scambiano
+	private GenomePool genomePool, nextGenomePool;
+	// Fitness (tempo di vita) di ogni uccello, registrata alla morte: sopravvive a population.clear() per la selezione
+	private final double[] vFitness;
+	// Registra la fitness degli uccelli uccisi da BirdPopulation.killOutsideY() (creato una volta, nessuna allocazione per passo)
+	private final IntConsumer birdDeathRecorder = this::recordBirdDeath;
+	// Algoritmo che crea i genomi di ogni generazione (di default l'algoritmo genetico)
+	private Trainer trainer;
+	private BatchBrainEvaluator brainEvaluator;
+	// Struttura delle reti di tutti gli uccelli (pool, valutatore e miglior genoma dipendono da essa)
+	private BrainTopology topology = BrainTopology.DEFAULT;
+
+	// RNG di questo mondo per il percorso dei tubi e per i pesi degli uccelli
+	private final Random random;
+	// Cervelli migrati da altri mondi, inseriti alla prossima generazione al posto di uccelli casuali
+	private final List<BirdBrain> vMigrants = new ArrayList<>();
+
+	private final int nBirdsXGen;
+	private int gameWidth, gameHeight;
+	// Genoma del miglior uccello di sempre: copia, perché lo slot del pool viene riscritto alla generazione successiva
+	private double[] vBestGenome = new double[topology.getGenomeSize()];
+	private boolean hasBestGenome = false;
+	// Slot del pool già copiato in vBestGenome nella generazione corrente (-1 = nessuno)
+	private int bestGenomeSlot = -1;
+	// BirdBrain di vBestGenome, creato solo quando richiesto (salvataggio) e vuoto se il genoma è cambiato
+	private Optional<BirdBrain> bestBirdBrainOpt = Optional.empty();
+	// Percorso pre-generato (vuoto = tubi casuali) e indice del prossimo tubo del percorso
+	private Optional<TubeCourse> tubeCourseOpt = Optional.empty();
+	private int nextCourseTubeIndex = 0;
+	// Uccello vivo con tempo di vita massimo, dalla riduzione del passo precedente
+	private int leaderIndex = -1;
+
+	// Porzioni della popolazione aggiornate in parallelo (una sola in modalità seriale)
+	private BirdChunk[] vChunks;
+	private int parallelism;
+	// Pool dedicato del mondo con nWorkers thread (null in modalità seriale): --threads limita davvero i thread usati
+	// I thread del pool sono daemon e terminano da soli dopo un periodo di inattività
+	private ForkJoinPool workerPool;
+	private int nWorkers = 0;
+	private final FrameTask frameTask = new FrameTask();
+	// Parametri del passo corrente, in sola lettura per le porzioni
+	private double frameDt;
+	private TubePair frameFirstTubePair;
+	// Buco [frameYHoleTop, frameYHoleBottom) del primo tubo
+	private int frameYHoleTop, frameYHoleBottom;
+	// Intervallo [frameMinYBird, frameMaxYBird] delle y in cui un uccello sopravvive al passo (schermo e primo tubo)
+	private int frameMinYBird, frameMaxYBird;
+	// Collisione continua: intervallo [frameSweptEnterT, frameSweptExitT) del passo in cui il tubo in moto occupa la colonna degli uccelli
+	// frameSweptEnterT è infinito se il tubo non la occupa in nessun istante del passo
+	private double frameSweptEnterT = Double.POSITIVE_INFINITY, frameSweptExitT;
+	// Passo della generazione in cui i cervelli decidono (uno ogni decisionInterval, l'azione è ripetuta nel mezzo)
+	private boolean frameIsDecisionStep;
+
+	// Action repeat: passi di fisica tra due valutazioni dei cervelli, salvato nei cervelli per riprodurli fedelmente
+	private int decisionInterval = BirdBrain.DEFAULT_DECISION_INTERVAL;
+	// Passi eseguiti nella generazione corrente
+	private long nGenSteps = 0;
+	// Ultima decisione di salto di ogni uccello (bit i della parola i >> 6), ripetuta fino alla decisione successiva
+	private final long[] vHeldJumps;
+
+	// Numero totale di aggiornamenti di uccelli vivi eseguiti (per statistiche di throughput)
+	private long nBirdSteps = 0;
+	// Numero totale di valutazioni dei cervelli (nBirdSteps / decisionInterval circa)
+	private long nBirdDecisions = 0;
+
+	public GameWorld(GameStats gameStats, int nBirdsXGen, int birdsRegenPerc, int gameWidth, int gameHeight) throws NullPointerException, IllegalArgumentException {
+		this(gameStats, nBirdsXGen, birdsRegenPerc, gameWidth, gameHeight, new Random());
+	}
+
+	public GameWorld(GameStats gameStats, int nBirdsXGen, int birdsRegenPerc, int gameWidth, int gameHeight, Random random) throws NullPointerException, IllegalArgumentException {
+		this.gameStats = Objects.requireNonNull(gameStats, "GameStats Cannot be Null");
+		this.random = Objects.requireNonNull(random, "Random Cannot be Null");
+		if (nBirdsXGen < MIN_N_BIRDS_X_GEN) {
+			throw new IllegalArgumentException("Number of Birds per Generation Must Be Greater than 0");
+		}
+		if (birdsRegenPerc < 0 || birdsRegenPerc > 100) {
+	        throw new IllegalArgumentException("Birds Regeneration Percentage Must Be Between 0 and 100");
+	    }
+
+		this.nBirdsXGen = nBirdsXGen;
+		this.trainer = new GeneticTrainer(nBirdsXGen, birdsRegenPerc);
+		this.gameWidth = gameWidth;
+		this.gameHeight = gameHeight;
+
+		tubes = new TubePairQueue(8); // Capacità Iniziale Stimata (TubePairs)
+		population = new BirdPopulation(nBirdsXGen, BIRD_X);
+		vHeldJumps = new long[population.getNWords()];
+		genomePool = new GenomePool(topology, nBirdsXGen);
+		nextGenomePool = new GenomePool(topology, nBirdsXGen);
+		vFitness = new double[nBirdsXGen];
+		brainEvaluator = new BatchBrainEvaluator(topology, nBirdsXGen);
+		setParallelism(Runtime.getRuntime().availableProcessors());
+	}
+
+	// Struttura delle reti delle prossime generazioni: da impostare prima di startGen(), perché ricrea pool e valutatore
+	// Con una topologia diversa il miglior genoma non è più valido e viene scartato
+	public void setTopology(BrainTopology topology) throws NullPointerException {
+		Objects.requireNonNull(topology, "Brain Topology Cannot be Null");
+		if (topology.equals(this.topology)) {
+			return;
+		}
+
+		this.topology = topology;
+		genomePool = new GenomePool(topology, nBirdsXGen);
+		nextGenomePool = new GenomePool(topology, nBirdsXGen);
+		brainEvaluator = new BatchBrainEvaluator(topology, nBirdsXGen);
+		// Workspace delle porzioni dimensionati sul nuovo valutatore
+		setParallelism(parallelism);
+
+		vBestGenome = new double[topology.getGenomeSize()];
+		hasBestGenome = false;
+		bestGenomeSlot = -1;
+		bestBirdBrainOpt = Optional.empty();
+	}
+
+	public BrainTopology getTopology() {
+		return topology;
+	}
+
+	// Usato dalla prossima generazione creata (la generazione in corso non cambia)
+	public void setTrainer(Trainer trainer) throws NullPointerException {
+		this.trainer = Objects.requireNonNull(trainer, "Trainer Cannot be Null");
+	}
+
+	public Trainer getTrainer() {
+		return trainer;
+	}
+
+	// Valutazione dei cervelli ogni decisionInterval passi, con l'ultima azione ripetuta nel mezzo (dalla prossima generazione)
+	public void setDecisionInterval(int decisionInterval) throws IllegalArgumentException {
+		if (decisionInterval < 1 || decisionInterval > BirdBrain.MAX_DECISION_INTERVAL) {
+			throw new IllegalArgumentException("Decision Interval Must be Between 1 and " + BirdBrain.MAX_DECISION_INTERVAL);
+		}
+		this.decisionInterval = decisionInterval;
+		bestBirdBrainOpt = Optional.empty();
+	}
+
+	public int getDecisionInterval() {
+		return decisionInterval;
+	}
+
+	// Numero massimo di thread per l'aggiornamento degli uccelli (1 = seriale), ridotto automaticamente per popolazioni piccole
+	// Worker e porzioni si adattano alla popolazione: almeno MIN_WORDS_X_CHUNK parole per worker, fino a CHUNKS_X_WORKER porzioni per worker
+	// I risultati non dipendono dal parallelismo: ogni uccello dipende solo dal proprio stato e dal primo TubePair
+	public void setParallelism(int parallelism) throws IllegalArgumentException {
+		if (parallelism < 1) {
+			throw new IllegalArgumentException("Parallelism Must be Greater than 0");
+		}
+
+		this.parallelism = parallelism;
+		int nWords = population.getNWords();
+		int nNewWorkers = Math.max(1, Math.min(parallelism, nWords / MIN_WORDS_X_CHUNK));
+		int nChunks = nNewWorkers == 1 ? 1 : Math.min(nWords / MIN_WORDS_X_CHUNK, nNewWorkers * CHUNKS_X_WORKER);
+
+		// Pool ricreato solo se cambia il numero di worker (es. non a ogni cambio di topologia)
+		if (nNewWorkers != nWorkers) {
+			if (workerPool != null) {
+				workerPool.shutdown();
+			}
+			workerPool = nNewWorkers > 1 ? new ForkJoinPool(nNewWorkers) : null;
+			nWorkers = nNewWorkers;
+		}
+
+		vChunks = new BirdChunk[nChunks];
+		for (int c = 0; c < nChunks; ++c) {
+			// Intervalli di parole contigui e bilanciati
+			vChunks[c] = new BirdChunk((int) ((long) nWords * c / nChunks), (int) ((long) nWords * (c + 1) / nChunks));
+		}
+	}
+
+	// Generation Lifecycle Methods
+
+	// Aggiunta uccelli e primo tubo a inizio generazione
+	public void startGen() {
+		if (gameStats.isFirstGen()) {
+			addFirstGenBirds();
+		}
+		startTubesAndBrains();
+	}
+
+	// Inizio di una generazione con i genomi [0, nBirds) di srcPool forniti dal chiamante (uccello i = slot i)
+	// Usato quando la selezione è esterna al mondo, es. valutazione degli stessi genomi su più percorsi
+	// srcPool è solo letto: più mondi possono partire in parallelo dallo stesso pool
+	public void startGen(GenomePool srcPool, int nBirds) throws NullPointerException, IllegalArgumentException {
+		Objects.requireNonNull(srcPool, "Source Genome Pool Cannot be Null");
+		if (nBirds < 0 || nBirds > population.getCapacity() || nBirds > srcPool.getCapacity()) {
+			throw new IllegalArgumentException("Invalid Number of Birds: " + nBirds + " (Max " + Math.min(population.getCapacity(), srcPool.getCapacity()) + ")");
+		}
+
+		gameStats.nBirds = 0;
+		gameStats.nTubePassed = 0;
+		gameStats.currLifeTime = 0;
+		clearTubes();
+		population.clear();
+
+		int startY = gameHeight / 2 - FlappyBird.HEIGHT / 2;
+		for (int i = 0; i < nBirds; ++i) {
+			genomePool.copyFrom(srcPool, i, population.add(startY));
+		}
+		gameStats.nBirds = nBirds;
+
+		startTubesAndBrains();
+	}
+
+	private void startTubesAndBrains() {
+		nextCourseTubeIndex = 0;
+		addNewTubePair();
+		leaderIndex = population.nextAlive(0);
+		bestGenomeSlot = -1;
+		nGenSteps = 0;
+		loadBrainWeights();
+	}
+
+	// Copia dei pesi nel valutatore a blocchi dopo la creazione degli uccelli (i cervelli non cambiano durante la generazione)
+	private void loadBrainWeights() {
+		for (int i = 0; i < population.size(); ++i) {
+			brainEvaluator.loadWeights(i, genomePool, i);
+		}
+	}
+
+	public boolean isGenOver() {
+		return gameStats.nBirds == 0;
+	}
+
+	// Transizione naturale alla generazione successiva
+	public void prepareForNewGen() {
+		// Gli uccelli sopravvissuti (generazione interrotta) hanno come fitness il tempo di vita raggiunto
+		for (int i = population.nextAlive(0); i >= 0; i = population.nextAlive(i + 1)) {
+			vFitness[i] = population.lifeTime[i];
+		}
+		int nParents = population.size();
+
+		++gameStats.nGen;
+		gameStats.nBirds = 0;
+		gameStats.nTubePassed = 0;
+		gameStats.currLifeTime = 0;
+		clearTubes();
+		population.clear();
+		leaderIndex = -1;
+		addNewGenBirds(nParents);
+	}
+
+	// Riavvio da Gen 1 dopo il caricamento di un cervello da file
+	public void prepareForLoadedBrain() {
+	    gameStats.resetToFirstGen();
+	    clearTubes();
+	    population.clear();
+	    leaderIndex = -1;
+	}
+
+	public void reset() {
+		gameStats.resetToFirstGen();
+        clearTubes();
+        population.clear();
+        leaderIndex = -1;
+        hasBestGenome = false;
+        bestGenomeSlot = -1;
+        bestBirdBrainOpt = Optional.empty();
+
+        nextCourseTubeIndex = 0;
+        addNewTubePair();
+	}
+
+	// Game Logic Methods
+
+	// Aggiornamento di un singolo passo di simulazione di durata dt (in secondi)
+	public void step(double dt) {
+		// leaderIndex: uccello vivo col tempo di vita massimo, dalla riduzione del passo precedente (tutti i vivi hanno lo stesso tempo di vita)
+		TubePair firstTubePair;
+
+		// Aggiornare Statistica Tempo di Vita Attuale, Migliore e Cervello del Miglior Uccello
+    	if (leaderIndex >= 0 && population.lifeTime[leaderIndex] > gameStats.currLifeTime) {
+    		gameStats.currLifeTime = population.lifeTime[leaderIndex];
+
+        	// Nuovo Record di Vita
+        	if (gameStats.currLifeTime > gameStats.bestLifeTime) {
+				gameStats.bestLifeTime = population.lifeTime[leaderIndex];
+
+				// I genomi non cambiano durante la generazione: copia solo quando il record passa a un altro uccello
+				if (leaderIndex != bestGenomeSlot) {
+					genomePool.copyTo(leaderIndex, vBestGenome, 0);
+					bestGenomeSlot = leaderIndex;
+					hasBestGenome = true;
+					bestBirdBrainOpt = Optional.empty();
+				}
+			}
+        }
+
+    	firstTubePair = leaderIndex >= 0 ? getFirstTubePair() : null;
+
+		// Aggiornare Oggetti di Gioco
+        updateGameObjects(dt, firstTubePair);
+		checkNewTube();
+	}
+
+	// Aggiorna le dimensioni dell'area di gioco, ricreando i tubi se l'altezza è cambiata
+	public void setGameSize(int gameWidth, int gameHeight) {
+		this.gameWidth = gameWidth;
+
+		if (this.gameHeight != gameHeight) {
+			// Ricreare tutti i Tube con la Nuova Altezza
+			recreateTubePairs(gameHeight);
+			this.gameHeight = gameHeight;
+		}
+	}
+
+	// Ogni tubo è reinizializzato al suo posto nella coda: ordine per x e tubi già superati restano invariati
+	private void recreateTubePairs(int newGameHeight) {
+		TubePair currTubePair;
+		double holeRatio;
+		for (int k = 0; k < tubes.size(); ++k) {
+			currTubePair = tubes.get(k);
+			// Mantenere la posizione relativa del buco rispetto alla vecchia altezza
+			holeRatio = (double) currTubePair.getYTubeHoleCenter() / gameHeight;
+			currTubePair.reinitialize(currTubePair.x, newGameHeight, holeRatio);
+		}
+	}
+
+	private void updateGameObjects(double dt, TubePair firstTubePair) {
+		updateBirds(dt, firstTubePair);
+
+		// Rimuovere i Tube che sono usciti dallo schermo: a sinistra sono in testa alla coda, a destra (finestra ristretta) in coda
+		while (!tubes.isEmpty() && tubes.peekFirst().isOutOfScreen(gameWidth, gameHeight)) {
+			releaseTubePair(tubes.pollFirst());
+			nPassedTubes = Math.max(0, nPassedTubes - 1);
+		}
+		while (!tubes.isEmpty() && tubes.peekLast().isOutOfScreen(gameWidth, gameHeight)) {
+			releaseTubePair(tubes.pollLast());
+		}
+		nPassedTubes = Math.min(nPassedTubes, tubes.size());
+
+		for (int k = 0; k < tubes.size(); ++k) {
+			tubes.get(k).updateXY(dt);
+		}
+    }
+
+	// Morte, decisione AI e fisica di tutti gli uccelli vivi sugli array della popolazione
+	// Con più porzioni l'aggiornamento è eseguito in parallelo sul pool dedicato del mondo, le riduzioni sono unite a fine passo
+	private void updateBirds(double dt, TubePair firstTubePair) {
+		frameDt = dt;
+		frameFirstTubePair = firstTubePair;
+		updateFrameCollisionBounds(frameFirstTubePair, dt);
+		frameIsDecisionStep = nGenSteps++ % decisionInterval == 0;
+		// Fattori di normalizzazione degli input una sola volta per frame, per tutta la popolazione
+		brainEvaluator.setInputRanges(gameWidth, gameHeight, FlappyBird.getMaxSpeed(gameHeight));
+
+		// Controllo Collisioni e Limiti Schermo - Flappy Bird Morti: sull'indice della popolazione ordinato per y, prima delle porzioni
+		// Sul thread chiamante, ma il riordino incrementale è un solo passaggio sequenziale sull'indice quasi ordinato del passo precedente
+		int nDead = population.killOutsideY(frameMinYBird, frameMaxYBird, birdDeathRecorder);
+
+		if (workerPool == null) {
+			vChunks[0].update();
+		} else {
+			frameTask.reinitialize();
+			workerPool.invoke(frameTask);
+		}
+
+		// Riduzioni in ordine di porzione (a parità di tempo di vita vince l'indice minore, come con un solo thread)
+		int nSweptDead = 0;
+		double leaderLifeTime = 0;
+		leaderIndex = -1;
+		for (BirdChunk chunk : vChunks) {
+			nSweptDead += chunk.nDead;
+			if (chunk.bestIndex >= 0 && (leaderIndex < 0 || chunk.bestLifeTime > leaderLifeTime)) {
+				leaderIndex = chunk.bestIndex;
+				leaderLifeTime = chunk.bestLifeTime;
+			}
+		}
+
+		population.commitDeaths(nSweptDead);
+		gameStats.nBirds -= nDead + nSweptDead;
+		nBirdSteps += population.getNAlive();
+		if (frameIsDecisionStep && frameFirstTubePair != null) {
+			nBirdDecisions += population.getNAlive();
+		}
+	}
+
+	// Radice di un passo parallelo: tutte le porzioni sui worker del pool dedicato, il thread chiamante attende in invoke()
+	private final class FrameTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected void compute() {
+			for (BirdChunk chunk : vChunks) {
+				chunk.reinitialize();
+			}
+			ForkJoinTask.invokeAll(vChunks);
+		}
+	}
+
+	// Porzione di parole [fromWord, toWord) del bitset dei vivi, riutilizzata a ogni passo
+	private final class BirdChunk extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final int fromWord, toWord;
+		// Buffer di lavoro del thread che esegue la porzione, mai serializzato
+		private final transient BatchBrainEvaluator.Workspace workspace = brainEvaluator.createWorkspace();
+
+		// Risultati delle riduzioni del passo corrente (nDead: solo morti per collisione continua)
+		private int nDead, bestIndex;
+		private double bestLifeTime;
+
+		private BirdChunk(int fromWord, int toWord) {
+			this.fromWord = fromWord;
+			this.toWord = toWord;
+		}
+
+		@Override
+		protected void compute() {
+			update();
+		}
+
+		private void update() {
+			final long[] aliveBits = population.getAliveBits();
+			final int[] vYBird = population.y;
+			final TubePair firstTubePair = frameFirstTubePair;
+			long word;
+			int i;
+
+			nDead = 0;
+
+			// Input della AI raccolti per la valutazione a blocchi (solo nei passi di decisione, i morti del passo sono già fuori dal bitset)
+			if (firstTubePair != null && frameIsDecisionStep) {
+				for (int w = fromWord; w < toWord; ++w) {
+					word = aliveBits[w];
+					while (word != 0) {
+						i = (w << 6) + Long.numberOfTrailingZeros(word);
+						word &= word - 1;
+
+						brainEvaluator.setInputs(i, vYBird[i], population.vy[i], firstTubePair.getYTubeHoleCenter(), firstTubePair.x - BIRD_X);
+					}
+				}
+			}
+
+			// AI Decision: un unico passaggio per tutti gli uccelli vivi della porzione, poi l'azione è ripetuta fino alla prossima decisione
+			if (frameIsDecisionStep) {
+				if (firstTubePair != null) {
+					System.arraycopy(brainEvaluator.evaluate(fromWord, toWord, population.size(), aliveBits, workspace), fromWord, vHeldJumps, fromWord, toWord - fromWord);
+				} else {
+					Arrays.fill(vHeldJumps, fromWord, toWord, 0L);
+				}
+			}
+			applyJumps(vHeldJumps);
+
+			// Con passi grandi tubo e uccello possono attraversarsi tra due controlli discreti: morte al primo contatto durante il passo
+			if (frameSweptEnterT != Double.POSITIVE_INFINITY) {
+				killSweptCollisions(aliveBits);
+			}
+
+			population.updateXY(frameDt, fromWord, toWord);
+			reduceBestIndex(aliveBits);
+		}
+
+		// Salto degli uccelli vivi con il bit a 1 nella maschera delle decisioni
+		private void applyJumps(long[] jumpMask) {
+			final long[] aliveBits = population.getAliveBits();
+			long word;
+
+			for (int w = fromWord; w < toWord; ++w) {
+				word = jumpMask[w] & aliveBits[w];
+				while (word != 0) {
+					population.jump((w << 6) + Long.numberOfTrailingZeros(word));
+					word &= word - 1;
+				}
+			}
+		}
+
+		// Collisione continua degli uccelli vivi con il primo tubo nell'intervallo del passo in cui occupa la loro colonna
+		// La parabola ha la velocità già aggiornata dalla gravità, così i suoi estremi coincidono con quelli di BirdPopulation.updateXY
+		// Il tempo di vita è quello dell'istante del contatto
+		private void killSweptCollisions(long[] aliveBits) {
+			final double dvy = FlappyBird.GRAVITY * frameDt;
+			long word;
+			int i;
+			double toi;
+
+			for (int w = fromWord; w < toWord; ++w) {
+				word = aliveBits[w];
+				while (word != 0) {
+					i = (w << 6) + Long.numberOfTrailingZeros(word);
+					word &= word - 1;
+
+					toi = SweptCollision.holeExitTime(population.y[i], population.vy[i] + dvy, FlappyBird.GRAVITY, FlappyBird.HEIGHT,
+							frameYHoleTop, frameYHoleBottom, frameSweptEnterT, frameSweptExitT);
+					if (toi != Double.POSITIVE_INFINITY) {
+						population.markDead(i);
+						vFitness[i] = population.lifeTime[i] + toi;
+						++nDead;
+					}
+				}
+			}
+		}
+
+		// Primo uccello vivo con il tempo di vita massimo della porzione
+		private void reduceBestIndex(long[] aliveBits) {
+			final double[] vLifeTime = population.lifeTime;
+			long word;
+			int i;
+
+			bestIndex = -1;
+			bestLifeTime = 0;
+
+			for (int w = fromWord; w < toWord; ++w) {
+				word = aliveBits[w];
+				while (word != 0) {
+					i = (w << 6) + Long.numberOfTrailingZeros(word);
+					word &= word - 1;
+
+					if (bestIndex < 0 || vLifeTime[i] > bestLifeTime) {
+						bestIndex = i;
+						bestLifeTime = vLifeTime[i];
+					}
+				}
+			}
+		}
+	}
+
+	// Limiti interi del passo corrente, letti da tutte le porzioni
+	private void updateFrameCollisionBounds(TubePair firstTubePair, double dt) {
+		// Tutti gli uccelli hanno x = BIRD_X: un uccello sopravvive se è nello schermo (y + HEIGHT >= 0, y <= gameHeight)
+		// e, se il primo tubo occupa la loro colonna, se è dentro il buco (y >= yHoleTop, y + HEIGHT <= yHoleBottom)
+		// Uscita dallo schermo in x: intervallo vuoto, muoiono tutti
+		boolean isBirdXOut = BIRD_X + FlappyBird.WIDTH < 0 || BIRD_X > gameWidth;
+		boolean isTubeInBirdColumn = firstTubePair != null
+				&& firstTubePair.x < BIRD_X + FlappyBird.WIDTH && BIRD_X < firstTubePair.x + TubePair.WIDTH;
+		frameSweptEnterT = Double.POSITIVE_INFINITY;
+
+		if (isBirdXOut) {
+			frameMinYBird = Integer.MAX_VALUE;
+			frameMaxYBird = Integer.MIN_VALUE;
+		} else if (isTubeInBirdColumn) {
+			// Tubo assente: yHoleTop = Integer.MIN_VALUE, yHoleBottom = Integer.MAX_VALUE (restano i soli limiti dello schermo)
+			frameMinYBird = Math.max(-FlappyBird.HEIGHT, firstTubePair.getYHoleTop());
+			frameMaxYBird = Math.min(gameHeight, firstTubePair.getYHoleBottom() - FlappyBird.HEIGHT);
+		} else {
+			frameMinYBird = -FlappyBird.HEIGHT;
+			frameMaxYBird = gameHeight;
+		}
+
+		if (firstTubePair != null) {
+			frameYHoleTop = firstTubePair.getYHoleTop();
+			frameYHoleBottom = firstTubePair.getYHoleBottom();
+
+			// Broadphase continua: il tubo si sposta da x a getNextX(dt) durante il passo (dopo gli uccelli in updateGameObjects)
+			int nextX = firstTubePair.getNextX(dt);
+			frameSweptEnterT = SweptCollision.columnEnterTime(firstTubePair.x, nextX, TubePair.WIDTH, BIRD_X, FlappyBird.WIDTH, dt);
+			frameSweptExitT = SweptCollision.columnExitTime(firstTubePair.x, nextX, TubePair.WIDTH, BIRD_X, FlappyBird.WIDTH, dt);
+		}
+	}
+
+	private void recordBirdDeath(int i) {
+		vFitness[i] = population.lifeTime[i];
+	}
+
+	private void clearTubes() {
+		while (!tubes.isEmpty()) {
+			releaseTubePair(tubes.pollFirst());
+		}
+		nPassedTubes = 0;
+	}
+
+	// Contatori del pool dei FlappyBird della popolazione riportati nelle statistiche
+	private void updateBirdPoolStats() {
+		gameStats.nBirdPoolHits = population.getNRenderBirdHits();
+		gameStats.nBirdPoolMisses = population.getNRenderBirdMisses();
+	}
+
+	private void releaseTubePair(TubePair tubePair) {
+		tubePair.setAlive(false);
+		tubePairPool.addLast(tubePair);
+	}
+
+	// Primo TubePair non ancora superato dagli uccelli (x + WIDTH >= BIRD_X), null se sono stati superati tutti
+	// Il cursore avanza sulla coda ordinata per x: ogni avanzamento è un tubo superato
+	// Chiamato a ogni passo: null al posto di Optional per non allocare nel ciclo di simulazione
+	private TubePair getFirstTubePair() {
+		while (nPassedTubes < tubes.size() && tubes.get(nPassedTubes).x + TubePair.WIDTH < BIRD_X) {
+			++nPassedTubes;
+			++gameStats.nTubePassed;
+
+			if (gameStats.nTubePassed > gameStats.maxTubePassed) {
+				gameStats.maxTubePassed = gameStats.nTubePassed;
+			}
+		}
+
+		return nPassedTubes < tubes.size() ? tubes.get(nPassedTubes) : null;
+	}
+
+	private void checkNewTube() {
+		// Il TubePair con la x più grande (il più a destra) è in coda
+		TubePair lastTubePair = tubes.peekLast();
+
+		if (lastTubePair != null && lastTubePair.x + TubePair.WIDTH <= gameWidth - TubePair.DIST_X_BETWEEN_TUBES) {
+			addNewTubePair();
+		} else if (lastTubePair == null) {
+			addNewTubePair();
+		}
+	}
+
+	private void addRandomBirds(int nBirds) {
+		int startY = gameHeight / 2 - FlappyBird.HEIGHT / 2;
+
+		for (int i = 0; i < nBirds; ++i) {
+			genomePool.randomize(population.add(startY), random);
+		}
+
+		gameStats.nBirds += nBirds;
+	}
+
+	// Creazione Uccelli per la Prima Generazione, 2 casi: con bestBirdBrainOpt vuoto o non vuoto (in caso di caricamento cervello da file)
+	private void addFirstGenBirds() {
+		addTrainerBirds(trainer.initGeneration(hasBestGenome ? vBestGenome : null, nextGenomePool, getNTrainerSlots(), random));
+	}
+
+	// Creazione Nuovi Uccelli per la Nuova Generazione Dopo la Prima (una parte dal trainer, i migranti e una parte casuali)
+	private void addNewGenBirds(int nParents) {
+		addTrainerBirds(trainer.nextGeneration(genomePool, vFitness, nParents, hasBestGenome ? vBestGenome : null, nextGenomePool, getNTrainerSlots(), random));
+	}
+
+	// Slot offerti al trainer: quelli dei migranti in attesa sono riservati, anche con un trainer che riempie tutti gli slot ricevuti (es. ES)
+	private int getNTrainerSlots() {
+		return nBirdsXGen - Math.min(vMigrants.size(), nBirdsXGen);
+	}
+
+	// Il trainer ha scritto i genomi degli slot [0, nTrained) in nextGenomePool, che diventa il pool corrente
+	// I genitori restano leggibili in genomePool finché il trainer li usa (doppio buffer)
+	private void addTrainerBirds(int nTrained) {
+		if (nTrained < 0 || nTrained > nBirdsXGen) {
+			throw new IllegalStateException("Invalid Number of Trainer Birds: " + nTrained + " (Max " + nBirdsXGen + ")");
+		}
+
+		GenomePool tmp = genomePool;
+		genomePool = nextGenomePool;
+		nextGenomePool = tmp;
+
+		int startY = gameHeight / 2 - FlappyBird.HEIGHT / 2;
+		for (int i = 0; i < nTrained; ++i) {
+			population.add(startY);
+		}
+		gameStats.nBirds += nTrained;
+
+		int nOthers = nBirdsXGen - nTrained;
+		addRandomBirds(nOthers - addMigrantBirds(nOthers));
+	}
+
+	// Aggiunge al più maxBirds uccelli con i cervelli migrati, ritorna il numero di uccelli aggiunti
+	private int addMigrantBirds(int maxBirds) {
+		int startY = gameHeight / 2 - FlappyBird.HEIGHT / 2;
+		int nAdded = Math.min(maxBirds, vMigrants.size());
+
+		for (int i = 0; i < nAdded; ++i) {
+			genomePool.load(population.add(startY), vMigrants.get(i));
+		}
+		vMigrants.clear();
+
+		gameStats.nBirds += nAdded;
+		return nAdded;
+	}
+
+	// Cervello proveniente da un altro mondo (modello a isole), usato dalla prossima generazione
+	// Da chiamare dal thread che esegue questo mondo
+	public void addMigrant(BirdBrain brain) throws NullPointerException, IllegalArgumentException {
+		Objects.requireNonNull(brain, "Migrant Brain Cannot be Null");
+		if (!brain.getTopology().equals(topology)) {
+			throw new IllegalArgumentException("Incompatible Migrant Brain Topology: " + brain.getTopology());
+		}
+		vMigrants.add(brain);
+	}
+
+	// Riutilizza un TubePair del pool se disponibile (hit), altrimenti ne crea uno nuovo (miss)
+	private void addNewTubePair() {
+		TubePair tubePair = tubePairPool.pollLast();
+
+		if (tubePair == null) {
+			++gameStats.nTubePoolMisses;
+			tubePair = tubeCourseOpt.isPresent()
+					? tubeCourseOpt.get().createTubePair(nextCourseTubeIndex++, gameWidth, gameHeight)
+					: new TubePair(gameWidth, gameHeight, random);
+		} else {
+			++gameStats.nTubePoolHits;
+			if (tubeCourseOpt.isPresent()) {
+				tubePair.reinitialize(gameWidth, gameHeight, tubeCourseOpt.get().getHoleRatio(nextCourseTubeIndex++));
+			} else {
+				tubePair.reinitialize(gameWidth, gameHeight, random);
+			}
+		}
+
+		tubes.addLast(tubePair);
+	}
+
+	// AutoSave Methods
+
+	// Controllo autosave a fine generazione (On Gen)
+	// ritorna Optional<BirdBrain> con bestBirdBrain da salvare se è il momento di fare l'autosave, altrimenti Optional vuoto
+	public Optional<BirdBrain> checkAutoSaveOnEndGen() {
+		// Controllo autosave per generazione
+    	if (gameStats.isAutoSaveOnGenEnabled && gameStats.nGen % gameStats.getAutoSaveGenThreshold() == 0) {
+			return getBestBirdBrain();
+    	}
+
+    	return Optional.empty();
+	}
+
+	// Controllo autosave durante la generazione attuale (On BLT e On Max Tube Passed)
+	// ritorna Optional<BirdBrain> con bestBirdBrain da salvare se è il momento di fare l'autosave, altrimenti Optional vuoto
+	public Optional<BirdBrain> checkAutoSaveInGen() {
+		if (!hasBestGenome) {
+			return Optional.empty();
+		}
+
+		// Controllo autosave per Best Life Time
+    	if (gameStats.isAutoSaveOnBLTEnabled && gameStats.bestLifeTime > 0 && Math.floor(gameStats.bestLifeTime) != gameStats.getLastSavedBLT() && Math.floor(gameStats.bestLifeTime) % gameStats.getAutoSaveBLTThreshold() == 0) {
+    		gameStats.setLastSavedBLT((int) Math.floor(gameStats.bestLifeTime));
+    		// Evitare salvataggi multipli per stesso Frame
+    		return getBestBirdBrain();
+    	}
+
+    	// Controllo autosave per Max Tube Passed
+    	if (gameStats.isAutoSaveOnMaxTubePassedEnabled && gameStats.maxTubePassed > 0 && gameStats.maxTubePassed != gameStats.getLastSavedMaxTubePassed() && gameStats.maxTubePassed % gameStats.getAutoSaveMaxTubePassedThreshold() == 0) {
+			gameStats.setLastSavedMaxTubePassed(gameStats.maxTubePassed);
+    		return getBestBirdBrain();
+    	}
+
+    	return Optional.empty();
+	}
+
+	// Getter and Setter Methods
+
+	// Copia per Evitare ConcurrentModificationException quando la vista la legge da un altro thread
+	// Gli uccelli vivi sono materializzati come FlappyBird solo qui, per il rendering
+	public Set<AbstractGameObject> getGameObjectsSnapshot() {
+		Set<AbstractGameObject> vSnapshot = new HashSet<>(tubes.size() + population.getNAlive());
+		for (int k = 0; k < tubes.size(); ++k) {
+			vSnapshot.add(tubes.get(k));
+		}
+		population.collectRenderables(vSnapshot, genomePool);
+		updateBirdPoolStats();
+		return vSnapshot;
+	}
+
+	public Optional<BirdBrain> getBestBirdBrain() {
+		if (hasBestGenome && bestBirdBrainOpt.isEmpty()) {
+			BirdBrain bestBirdBrain = BirdBrain.fromGenome(topology, vBestGenome, 0);
+			bestBirdBrain.setDecisionInterval(decisionInterval);
+			bestBirdBrainOpt = Optional.of(bestBirdBrain);
+		}
+		return bestBirdBrainOpt;
+	}
+
+	// Un cervello con un'altra topologia (es. caricato da file) cambia la topologia delle prossime generazioni
+	public void setBestBirdBrain(BirdBrain brain) throws NullPointerException {
+		Objects.requireNonNull(brain, "Bird Brain Cannot be Null");
+		setTopology(brain.getTopology());
+		setDecisionInterval(brain.getDecisionInterval());
+		brain.copyGenomeTo(vBestGenome, 0);
+		hasBestGenome = true;
+		bestGenomeSlot = -1;
+		bestBirdBrainOpt = Optional.of(brain);
+	}
+
+	public long getBirdSteps() {
+		return nBirdSteps;
+	}
+
+	public long getBirdDecisions() {
+		return nBirdDecisions;
+	}
+
+	// Tempo di vita dell'uccello i nella generazione corrente (finale se l'uccello è morto)
+	public double getBirdLifeTime(int i) throws IndexOutOfBoundsException {
+		Objects.checkIndex(i, population.size());
+		return population.lifeTime[i];
+	}
+
+	// Percorso usato dalle prossime generazioni (Optional vuoto = tubi casuali)
+	public void setTubeCourse(Optional<TubeCourse> tubeCourseOpt) throws NullPointerException {
+		this.tubeCourseOpt = Objects.requireNonNull(tubeCourseOpt, "Tube Course Optional Cannot be Null");
+	}
+
+	public int getGameWidth() {
+		return gameWidth;
+	}
+
+	public int getGameHeight() {
+		return gameHeight;
+	}
+
+}
\ No newline at end of file
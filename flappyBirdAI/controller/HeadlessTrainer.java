@@ -0,0 +1,300 @@
+/**
+ * @author Federico Sabbatani
+ */
+
+package flappyBirdAI.controller;
+
+import flappyBirdAI.ai.Activation;
+import flappyBirdAI.ai.BirdBrain;
+import flappyBirdAI.ai.BrainTopology;
+import flappyBirdAI.ai.EvolutionStrategyTrainer;
+import flappyBirdAI.ai.GeneticTrainer;
+import flappyBirdAI.ai.GenomePool;
+import flappyBirdAI.ai.InputSchema;
+import flappyBirdAI.ai.Trainer;
+import flappyBirdAI.persistence.BirdBrainFileStorage;
+import flappyBirdAI.utils.CommandLineOptions;
+import flappyBirdAI.utils.MatrixKernels;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+
+// Addestramento senza vista: esegue le generazioni di GameWorld alla massima velocità della CPU, senza rendering né sleep tra i frame
+// Uso: java flappyBirdAI.controller.HeadlessTrainer --birds=1000 --regen=80 --gens=100 --width=1000 --height=500 --maxGenSeconds=0 --threads=8 --elites=10 --tournament=3 --crossover=uniform --targetTubes=50
+// Strategia evolutiva al posto dell'algoritmo genetico: --trainer=es --sigma=1 --learningRate=1
+// Rete diversa da quella di default (neuroni per layer, attivazioni sigmoid se omesse): --topology=8,4,1 --activations=tanh,tanh,sigmoid
+// Sigmoid approssimata senza esponenziale sulla rete di default: --activations=sigmoid_lut,sigmoid_lut,sigmoid_lut (o sigmoid_rational, hard_sigmoid)
+// Versione dello schema degli input (1 = normalizzazione per uccello, 2 = intervalli del mondo, default): --inputSchema=1
+// Action repeat, cervelli valutati ogni k passi di fisica con l'ultima azione ripetuta nel mezzo: --decisionInterval=4
+// Confronto di più intervalli (velocità e apprendimento): java flappyBirdAI.controller.DecisionIntervalBenchmark --intervals=1,2,4,8 --runs=6
+public final class HeadlessTrainer {
+
+	// Stesso passo fisso della modalità a finestra, per ottenere gli stessi risultati
+	public static final double DEFAULT_DT = GameClock.FIXED_DT_S;
+
+	// Stesse dimensioni del pannello di gioco minimo della modalità a finestra
+	public static final int DEFAULT_GAME_WIDTH = GameWorld.MIN_GAME_WIDTH;
+	public static final int DEFAULT_GAME_HEIGHT = GameWorld.MIN_GAME_HEIGHT;
+
+	static final int DEFAULT_N_BIRDS = 1000;
+	static final int DEFAULT_BIRDS_REGEN_PERC = 80;
+	private static final int DEFAULT_N_GENS = 100;
+	private static final String DEFAULT_TOPOLOGY = String.join(",", BirdBrain.V_NEURONS.stream().map(String::valueOf).toList());
+
+	private static final ThreadMXBean THREAD_BEAN = ManagementFactory.getThreadMXBean();
+
+	public static void main(String[] args) {
+		Map<String, String> options = CommandLineOptions.parse(args);
+
+		int nBirdsXGen = Integer.parseInt(options.getOrDefault("birds", String.valueOf(DEFAULT_N_BIRDS)));
+		HeadlessTrainer trainer = new HeadlessTrainer(
+				nBirdsXGen,
+				Integer.parseInt(options.getOrDefault("regen", String.valueOf(DEFAULT_BIRDS_REGEN_PERC))),
+				Integer.parseInt(options.getOrDefault("width", String.valueOf(DEFAULT_GAME_WIDTH))),
+				Integer.parseInt(options.getOrDefault("height", String.valueOf(DEFAULT_GAME_HEIGHT))),
+				Double.parseDouble(options.getOrDefault("dt", String.valueOf(DEFAULT_DT))),
+				Double.parseDouble(options.getOrDefault("maxGenSeconds", "0")));
+
+		// Di default un worker per core, nel pool dedicato del mondo (ridotto per popolazioni piccole)
+		if (options.containsKey("threads")) {
+			trainer.setParallelism(Integer.parseInt(options.get("threads")));
+		}
+		if (options.containsKey("topology") || options.containsKey("activations") || options.containsKey("inputSchema")) {
+			trainer.setTopology(parseTopology(options.getOrDefault("inputSchema", String.valueOf(InputSchema.CURRENT.getVersion())),
+					options.getOrDefault("topology", DEFAULT_TOPOLOGY), options.get("activations")));
+		}
+		switch (options.getOrDefault("trainer", "genetic").toLowerCase(Locale.ROOT)) {
+			case "genetic" -> {}
+			case "es" -> trainer.setTrainer(new EvolutionStrategyTrainer(trainer.getTopology(), nBirdsXGen,
+					Double.parseDouble(options.getOrDefault("sigma", String.valueOf(EvolutionStrategyTrainer.DEFAULT_SIGMA))),
+					Double.parseDouble(options.getOrDefault("learningRate", String.valueOf(EvolutionStrategyTrainer.DEFAULT_LEARNING_RATE)))));
+			default -> throw new IllegalArgumentException("Unknown Trainer: " + options.get("trainer") + " (Expected genetic or es)");
+		}
+		if (options.containsKey("crossover")) {
+			trainer.setCrossover(GenomePool.Crossover.valueOf(options.get("crossover").toUpperCase(Locale.ROOT)));
+		}
+		if (options.containsKey("decisionInterval")) {
+			trainer.setDecisionInterval(Integer.parseInt(options.get("decisionInterval")));
+		}
+		if (options.containsKey("targetTubes")) {
+			trainer.setTargetTubePassed(Integer.parseInt(options.get("targetTubes")));
+		}
+		if (options.containsKey("elites") || options.containsKey("tournament")) {
+			trainer.setSelection(
+					Integer.parseInt(options.getOrDefault("elites", String.valueOf(Math.max(1, nBirdsXGen * GeneticTrainer.DEFAULT_ELITE_PERC / 100)))),
+					Integer.parseInt(options.getOrDefault("tournament", String.valueOf(GeneticTrainer.DEFAULT_TOURNAMENT_SIZE))));
+		}
+
+		trainer.runGenerations(Integer.parseInt(options.getOrDefault("gens", String.valueOf(DEFAULT_N_GENS))));
+
+		// Attendere il completamento degli autosave in coda prima di uscire
+		BirdBrainFileStorage.shutdownAndAwaitCompletion();
+	}
+
+	// Versione dello schema degli input, neuroni per layer separati da virgole, attivazioni (nomi di Activation) separate da virgole o null per tutte sigmoid
+	static BrainTopology parseTopology(String inputSchemaVersion, String neurons, String activations) throws NullPointerException, IllegalArgumentException {
+		InputSchema inputSchema = InputSchema.fromVersion(Integer.parseInt(inputSchemaVersion.trim()))
+				.orElseThrow(() -> new IllegalArgumentException("Unknown Input Schema Version: " + inputSchemaVersion));
+
+		List<Integer> vNeurons = new ArrayList<>();
+		for (String token : neurons.split(",")) {
+			vNeurons.add(Integer.parseInt(token.trim()));
+		}
+
+		List<Activation> vActivations = new ArrayList<>(vNeurons.size());
+		if (activations == null) {
+			vActivations.addAll(Collections.nCopies(vNeurons.size(), Activation.SIGMOID));
+		} else {
+			for (String token : activations.split(",")) {
+				vActivations.add(Activation.valueOf(token.trim().replace('-', '_').toUpperCase(Locale.ROOT)));
+			}
+		}
+
+		return new BrainTopology(inputSchema, vNeurons, vActivations);
+	}
+
+	private final GameStats gameStats = new GameStats();
+	private final GameWorld gameWorld;
+	private final double dt;
+	// Durata massima simulata di una generazione (secondi), 0 = nessun limite
+	private final double maxGenSeconds;
+	// Record di tubi superati che termina l'addestramento in anticipo, 0 = nessun obiettivo
+	private int targetTubePassed = 0;
+
+	public HeadlessTrainer(int nBirdsXGen, int birdsRegenPerc, int gameWidth, int gameHeight, double dt, double maxGenSeconds) throws IllegalArgumentException {
+		this(nBirdsXGen, birdsRegenPerc, gameWidth, gameHeight, dt, maxGenSeconds, new Random());
+	}
+
+	// random determina percorso dei tubi e pesi degli uccelli (con un seed l'addestramento è riproducibile)
+	public HeadlessTrainer(int nBirdsXGen, int birdsRegenPerc, int gameWidth, int gameHeight, double dt, double maxGenSeconds, Random random) throws NullPointerException, IllegalArgumentException {
+		if (dt <= 0) {
+			throw new IllegalArgumentException("Delta Time Must be Greater than 0");
+		}
+		if (maxGenSeconds < 0) {
+			throw new IllegalArgumentException("Max Generation Seconds Cannot be Negative");
+		}
+
+		this.gameWorld = new GameWorld(gameStats, nBirdsXGen, birdsRegenPerc, gameWidth, gameHeight, random);
+		this.dt = dt;
+		this.maxGenSeconds = maxGenSeconds;
+	}
+
+	public void setParallelism(int parallelism) throws IllegalArgumentException {
+		gameWorld.setParallelism(parallelism);
+	}
+
+	// Da chiamare prima di runGenerations()
+	public void setTopology(BrainTopology topology) throws NullPointerException {
+		gameWorld.setTopology(topology);
+	}
+
+	public BrainTopology getTopology() {
+		return gameWorld.getTopology();
+	}
+
+	public void setTrainer(Trainer trainer) throws NullPointerException {
+		gameWorld.setTrainer(trainer);
+	}
+
+	// Parametri dell'algoritmo genetico (il trainer di default)
+	public void setSelection(int nElites, int tournamentSize) throws IllegalArgumentException, IllegalStateException {
+		getGeneticTrainer().setSelection(nElites, tournamentSize);
+	}
+
+	public void setCrossover(GenomePool.Crossover crossover) throws NullPointerException, IllegalStateException {
+		getGeneticTrainer().setCrossover(crossover);
+	}
+
+	private GeneticTrainer getGeneticTrainer() throws IllegalStateException {
+		if (gameWorld.getTrainer() instanceof GeneticTrainer geneticTrainer) {
+			return geneticTrainer;
+		}
+		throw new IllegalStateException("Selection and Crossover Require the Genetic Trainer");
+	}
+
+	public void setDecisionInterval(int decisionInterval) throws IllegalArgumentException {
+		gameWorld.setDecisionInterval(decisionInterval);
+	}
+
+	public void setTargetTubePassed(int targetTubePassed) throws IllegalArgumentException {
+		if (targetTubePassed < 0) {
+			throw new IllegalArgumentException("Target Tube Passed Cannot be Negative");
+		}
+		this.targetTubePassed = targetTubePassed;
+	}
+
+	// Ritorna il numero di generazioni eseguite (meno di nGens se l'obiettivo di tubi superati è raggiunto prima)
+	public int runGenerations(int nGens) throws IllegalArgumentException {
+		if (nGens <= 0) {
+			throw new IllegalArgumentException("Number of Generations Must be Greater than 0");
+		}
+
+		System.out.println("Matrix Kernels: " + MatrixKernels.getInstance().getName());
+		System.out.println("Trainer: " + gameWorld.getTrainer().getName());
+		System.out.println(gameWorld.getTopology());
+		System.out.println("Decision Interval: " + gameWorld.getDecisionInterval() + " Steps");
+
+		long startTime = System.nanoTime();
+		long startBirdSteps = gameWorld.getBirdSteps();
+		long startBirdDecisions = gameWorld.getBirdDecisions();
+		long startAllocatedBytes = getThreadAllocatedBytes();
+
+		int nGensRun = 0;
+		while (nGensRun < nGens) {
+			playOneGen();
+			++nGensRun;
+			System.out.println(String.join(" - ",
+					"Gen: " + (gameStats.nGen - 1),
+					"MaxTubePassed: " + gameStats.maxTubePassed,
+					"BLT: " + GameClock.roundAndFormatTwoDecimals(gameStats.bestLifeTime) + "s"));
+
+			if (targetTubePassed > 0 && gameStats.maxTubePassed >= targetTubePassed) {
+				System.out.println("Target Reached: " + targetTubePassed + " Tubes in " + nGensRun + " Generations, "
+						+ GameClock.roundAndFormatTwoDecimals((System.nanoTime() - startTime) / 1e9) + "s");
+				break;
+			}
+		}
+
+		double elapsedS = (System.nanoTime() - startTime) / 1e9;
+		long birdSteps = gameWorld.getBirdSteps() - startBirdSteps;
+		long birdDecisions = gameWorld.getBirdDecisions() - startBirdDecisions;
+		long allocatedBytes = getThreadAllocatedBytes() - startAllocatedBytes;
+
+		System.out.println(String.join(" - ",
+				"Generations: " + nGensRun,
+				"Elapsed: " + GameClock.roundAndFormatTwoDecimals(elapsedS) + "s",
+				"Gens/s: " + GameClock.roundAndFormatTwoDecimals(nGensRun / elapsedS),
+				"Bird Steps/s: " + GameClock.roundAndFormatTwoDecimals(birdSteps / elapsedS),
+				// Costo di inferenza relativo: 1 senza action repeat
+				"Decisions/Bird Step: " + GameClock.roundAndFormatTwoDecimals((double) birdDecisions / Math.max(1, birdSteps)),
+				// Include la creazione delle generazioni: il budget del ciclo di simulazione a regime è verificato da AllocationBudgetCheck
+				"Alloc/Bird Step: " + (startAllocatedBytes < 0 ? "N/A" : GameClock.roundAndFormatTwoDecimals((double) allocatedBytes / Math.max(1, birdSteps)) + "B"),
+				// Tubi riutilizzati / creati dall'avvio: i creati smettono di crescere dopo le prime generazioni
+				"Tube Pool Hits/Misses: " + gameStats.nTubePoolHits + "/" + gameStats.nTubePoolMisses));
+
+		return nGensRun;
+	}
+
+	// Byte allocati dal thread corrente (-1 se la JVM non supporta la misura)
+	// Il bean è letto una volta: ManagementFactory.getThreadMXBean() alloca a ogni chiamata e falserebbe la misura
+	static long getThreadAllocatedBytes() {
+		if (THREAD_BEAN instanceof com.sun.management.ThreadMXBean sunThreadBean && sunThreadBean.isThreadAllocatedMemorySupported()) {
+			return sunThreadBean.getCurrentThreadAllocatedBytes();
+		}
+		return -1;
+	}
+
+	// Stessa sequenza di GameController.playOneGen() con dt fisso e senza vista
+	public void playOneGen() {
+		gameWorld.startGen();
+
+		while (!gameWorld.isGenOver()) {
+			gameWorld.step(dt);
+			gameWorld.checkAutoSaveInGen().ifPresent(this::createAutoSaveFile);
+
+			if (maxGenSeconds > 0 && gameStats.currLifeTime >= maxGenSeconds) {
+				break;
+			}
+		}
+
+		Optional<BirdBrain> autoSaveEndGenBrain = gameWorld.checkAutoSaveOnEndGen();
+		gameWorld.prepareForNewGen();
+		autoSaveEndGenBrain.ifPresent(this::createAutoSaveFile);
+	}
+
+	private void createAutoSaveFile(BirdBrain brain) {
+		BirdBrainFileStorage.saveAsync(brain, gameStats)
+		.whenComplete((_, ex) -> {
+			if (ex != null) {
+				System.err.println("AUTO-SAVE FAILED! Error: " + ex.getCause().getMessage());
+			}
+		});
+	}
+
+	public GameStats getGameStats() {
+		return gameStats;
+	}
+
+	public long getBirdSteps() {
+		return gameWorld.getBirdSteps();
+	}
+
+	public long getBirdDecisions() {
+		return gameWorld.getBirdDecisions();
+	}
+
+	public Optional<BirdBrain> getBestBirdBrain() {
+		return gameWorld.getBestBirdBrain();
+	}
+
+	public void addMigrant(BirdBrain brain) throws NullPointerException {
+		gameWorld.addMigrant(brain);
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,169 @@
+/**
+ * @author Federico Sabbatani
+ */
+
+package flappyBirdAI.controller;
+
+import flappyBirdAI.ai.BirdBrain;
+import flappyBirdAI.persistence.BirdBrainFileStorage;
+import flappyBirdAI.utils.CommandLineOptions;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+// Addestramento a isole: K mondi indipendenti (sottopopolazione, percorso dei tubi e RNG propri), uno per thread
+// Ogni M generazioni ogni isola pubblica una copia del proprio miglior cervello e riceve quello dell'isola precedente (topologia ad anello)
+// Lo scambio è lock-free: uno slot atomico per isola, nessuna barriera tra le isole
+// Uso: java flappyBirdAI.controller.IslandTrainer --islands=4 --birds=1000 --regen=80 --gens=100 --migrationInterval=5 --seed=42
+public final class IslandTrainer {
+
+	private static final int DEFAULT_N_ISLANDS = Runtime.getRuntime().availableProcessors();
+	private static final int DEFAULT_N_BIRDS_X_ISLAND = 1000;
+	private static final int DEFAULT_BIRDS_REGEN_PERC = 80;
+	private static final int DEFAULT_N_GENS = 100;
+	private static final int DEFAULT_MIGRATION_INTERVAL = 5;
+
+	public static void main(String[] args) throws InterruptedException, ExecutionException {
+		Map<String, String> options = CommandLineOptions.parse(args);
+
+		IslandTrainer trainer = new IslandTrainer(
+				Integer.parseInt(options.getOrDefault("islands", String.valueOf(DEFAULT_N_ISLANDS))),
+				Integer.parseInt(options.getOrDefault("birds", String.valueOf(DEFAULT_N_BIRDS_X_ISLAND))),
+				Integer.parseInt(options.getOrDefault("regen", String.valueOf(DEFAULT_BIRDS_REGEN_PERC))),
+				Integer.parseInt(options.getOrDefault("width", String.valueOf(HeadlessTrainer.DEFAULT_GAME_WIDTH))),
+				Integer.parseInt(options.getOrDefault("height", String.valueOf(HeadlessTrainer.DEFAULT_GAME_HEIGHT))),
+				Double.parseDouble(options.getOrDefault("dt", String.valueOf(HeadlessTrainer.DEFAULT_DT))),
+				Double.parseDouble(options.getOrDefault("maxGenSeconds", "0")),
+				Integer.parseInt(options.getOrDefault("migrationInterval", String.valueOf(DEFAULT_MIGRATION_INTERVAL))),
+				Long.parseLong(options.getOrDefault("seed", String.valueOf(System.nanoTime()))));
+
+		trainer.runGenerations(Integer.parseInt(options.getOrDefault("gens", String.valueOf(DEFAULT_N_GENS))));
+
+		// Salvataggio del miglior cervello tra tutte le isole
+		trainer.getBestIsland().ifPresent(bestIsland -> bestIsland.getBestBirdBrain()
+				.ifPresent(brain -> BirdBrainFileStorage.saveAsync(brain, bestIsland.getGameStats())));
+		BirdBrainFileStorage.shutdownAndAwaitCompletion();
+	}
+
+	private final HeadlessTrainer[] vIslands;
+	// Slot di migrazione: vMigrationSlots[k] contiene l'ultimo cervello pubblicato dall'isola k non ancora ricevuto
+	private final AtomicReferenceArray<BirdBrain> vMigrationSlots;
+	private final int migrationInterval;
+
+	public IslandTrainer(int nIslands, int nBirdsXIsland, int birdsRegenPerc, int gameWidth, int gameHeight, double dt, double maxGenSeconds, int migrationInterval, long seed) throws IllegalArgumentException {
+		if (nIslands <= 0) {
+			throw new IllegalArgumentException("Number of Islands Must be Greater than 0");
+		}
+		if (migrationInterval <= 0) {
+			throw new IllegalArgumentException("Migration Interval Must be Greater than 0");
+		}
+
+		this.migrationInterval = migrationInterval;
+		vIslands = new HeadlessTrainer[nIslands];
+		vMigrationSlots = new AtomicReferenceArray<>(nIslands);
+
+		// Seed delle isole derivati dal seed principale: percorsi e popolazioni diversi tra le isole (le migrazioni asincrone dipendono però dai tempi dei thread)
+		Random seedRandom = new Random(seed);
+		for (int k = 0; k < nIslands; ++k) {
+			vIslands[k] = new HeadlessTrainer(nBirdsXIsland, birdsRegenPerc, gameWidth, gameHeight, dt, maxGenSeconds, new Random(seedRandom.nextLong()));
+			// Un thread per isola: niente parallelismo interno al mondo
+			vIslands[k].setParallelism(1);
+			// Autosave solo del migliore a fine addestramento, non di ogni isola
+			vIslands[k].getGameStats().isAutoSaveOnGenEnabled = false;
+		}
+	}
+
+	public void runGenerations(int nGens) throws IllegalArgumentException, InterruptedException, ExecutionException {
+		if (nGens <= 0) {
+			throw new IllegalArgumentException("Number of Generations Must be Greater than 0");
+		}
+
+		long startTime = System.nanoTime();
+		List<Future<?>> vFutures = new ArrayList<>(vIslands.length);
+
+		ExecutorService executor = Executors.newFixedThreadPool(vIslands.length, Thread.ofPlatform().name("island-", 0).factory());
+		try {
+			for (int k = 0; k < vIslands.length; ++k) {
+				int islandIndex = k;
+				vFutures.add(executor.submit(() -> runIsland(islandIndex, nGens)));
+			}
+
+			// Propagare eventuali eccezioni delle isole
+			for (Future<?> future : vFutures) {
+				future.get();
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+
+		double elapsedS = (System.nanoTime() - startTime) / 1e9;
+		for (int k = 0; k < vIslands.length; ++k) {
+			GameStats stats = vIslands[k].getGameStats();
+			System.out.println(String.join(" - ",
+					"Island: " + k,
+					"MaxTubePassed: " + stats.maxTubePassed,
+					"BLT: " + GameClock.roundAndFormatTwoDecimals(stats.bestLifeTime) + "s"));
+		}
+		System.out.println(String.join(" - ",
+				"Islands: " + vIslands.length,
+				"Generations: " + nGens,
+				"Elapsed: " + GameClock.roundAndFormatTwoDecimals(elapsedS) + "s",
+				"Island Gens/s: " + GameClock.roundAndFormatTwoDecimals(vIslands.length * nGens / elapsedS)));
+	}
+
+	private void runIsland(int islandIndex, int nGens) {
+		HeadlessTrainer island = vIslands[islandIndex];
+		// Anello: l'isola k riceve dall'isola k - 1
+		int sourceIndex = (islandIndex + vIslands.length - 1) % vIslands.length;
+
+		for (int i = 0; i < nGens; ++i) {
+			island.playOneGen();
+
+			if (vIslands.length > 1 && (i + 1) % migrationInterval == 0) {
+				migrate(island, islandIndex, sourceIndex);
+			}
+		}
+	}
+
+	private void migrate(HeadlessTrainer island, int islandIndex, int sourceIndex) {
+		// Copia: il miglior cervello dell'isola continua a essere mutato dalla sua popolazione
+		island.getBestBirdBrain().ifPresent(brain -> vMigrationSlots.set(islandIndex, new BirdBrain(brain)));
+
+		// Se l'isola sorgente non ha ancora pubblicato (isole non sincronizzate) non si riceve nulla fino alla prossima migrazione
+		BirdBrain migrant = vMigrationSlots.getAndSet(sourceIndex, null);
+		if (migrant != null) {
+			island.addMigrant(migrant);
+		}
+	}
+
+	// Isola con il miglior tempo di vita
+	public Optional<HeadlessTrainer> getBestIsland() {
+		HeadlessTrainer bestIsland = null;
+
+		for (HeadlessTrainer island : vIslands) {
+			if (bestIsland == null || island.getGameStats().bestLifeTime > bestIsland.getGameStats().bestLifeTime) {
+				bestIsland = island;
+			}
+		}
+
+		return Optional.ofNullable(bestIsland);
+	}
+
+	public HeadlessTrainer getIsland(int islandIndex) throws IndexOutOfBoundsException {
+		Objects.checkIndex(islandIndex, vIslands.length);
+		return vIslands[islandIndex];
+	}
+
+	public int getNIslands() {
+		return vIslands.length;
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,294 @@
+/**
+ * @author Federico Sabbatani
+ */
+
+package flappyBirdAI.controller;
+
+import flappyBirdAI.ai.BirdBrain;
+import flappyBirdAI.ai.BrainTopology;
+import flappyBirdAI.ai.GeneticTrainer;
+import flappyBirdAI.ai.GenomePool;
+import flappyBirdAI.ai.Trainer;
+import flappyBirdAI.model.TubeCourse;
+import flappyBirdAI.persistence.BirdBrainFileStorage;
+import flappyBirdAI.utils.CommandLineOptions;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Addestramento con fitness su più percorsi: ogni generazione è valutata su K percorsi pre-generati da seed, in K mondi paralleli
+// La fitness di un cervello è l'aggregato (media o minimo) dei tempi di vita sui K percorsi, così il miglior cervello
+// non è più l'uccello fortunato di un singolo percorso casuale
+// La generazione successiva è creata dal Trainer (di default GeneticTrainer) con le fitness aggregate, come in GameWorld
+// Uso: java flappyBirdAI.controller.MultiCourseTrainer --courses=4 --birds=1000 --regen=80 --gens=100 --aggregate=mean --elites=10 --tournament=10 --crossover=none --seed=42
+public final class MultiCourseTrainer {
+
+	public enum FitnessAggregate { MEAN, MIN }
+
+	private static final int DEFAULT_N_COURSES = 4;
+	private static final int DEFAULT_N_TUBES_X_COURSE = 256;
+	private static final int DEFAULT_N_BIRDS = 1000;
+	private static final int DEFAULT_BIRDS_REGEN_PERC = 80;
+	private static final int DEFAULT_N_GENS = 100;
+	// Algoritmo genetico di default: solo mutazione e tornei più grandi di GeneticTrainer, come la vecchia rigenerazione da copie mutate
+	// del migliore. Su percorsi fissi quasi tutti gli uccelli muoiono nel primo secondo: con tornei da 3 e crossover uniforme
+	// i pochi buoni si perdono (30 generazioni da 1000 uccelli ferme a 6-17 tubi, invece di 17 tubi a 60s in 5 generazioni)
+	private static final GenomePool.Crossover DEFAULT_CROSSOVER = GenomePool.Crossover.NONE;
+	private static final int DEFAULT_TOURNAMENT_SIZE = 10;
+
+	public static void main(String[] args) throws InterruptedException, ExecutionException {
+		Map<String, String> options = CommandLineOptions.parse(args);
+
+		MultiCourseTrainer trainer = new MultiCourseTrainer(
+				Integer.parseInt(options.getOrDefault("courses", String.valueOf(DEFAULT_N_COURSES))),
+				Integer.parseInt(options.getOrDefault("courseTubes", String.valueOf(DEFAULT_N_TUBES_X_COURSE))),
+				Integer.parseInt(options.getOrDefault("birds", String.valueOf(DEFAULT_N_BIRDS))),
+				Integer.parseInt(options.getOrDefault("regen", String.valueOf(DEFAULT_BIRDS_REGEN_PERC))),
+				Integer.parseInt(options.getOrDefault("width", String.valueOf(HeadlessTrainer.DEFAULT_GAME_WIDTH))),
+				Integer.parseInt(options.getOrDefault("height", String.valueOf(HeadlessTrainer.DEFAULT_GAME_HEIGHT))),
+				Double.parseDouble(options.getOrDefault("dt", String.valueOf(HeadlessTrainer.DEFAULT_DT))),
+				Double.parseDouble(options.getOrDefault("maxGenSeconds", "0")),
+				FitnessAggregate.valueOf(options.getOrDefault("aggregate", "mean").toUpperCase(Locale.ROOT)),
+				Long.parseLong(options.getOrDefault("seed", String.valueOf(System.nanoTime()))));
+
+		if (options.containsKey("crossover")) {
+			trainer.setCrossover(GenomePool.Crossover.valueOf(options.get("crossover").toUpperCase(Locale.ROOT)));
+		}
+		if (options.containsKey("elites") || options.containsKey("tournament")) {
+			int nBirdsXGen = Integer.parseInt(options.getOrDefault("birds", String.valueOf(DEFAULT_N_BIRDS)));
+			trainer.setSelection(
+					Integer.parseInt(options.getOrDefault("elites", String.valueOf(Math.max(1, nBirdsXGen * GeneticTrainer.DEFAULT_ELITE_PERC / 100)))),
+					Integer.parseInt(options.getOrDefault("tournament", String.valueOf(DEFAULT_TOURNAMENT_SIZE))));
+		}
+
+		trainer.runGenerations(Integer.parseInt(options.getOrDefault("gens", String.valueOf(DEFAULT_N_GENS))));
+
+		trainer.getBestBirdBrain().ifPresent(brain -> BirdBrainFileStorage.saveAsync(brain, trainer.getGameStats()));
+		BirdBrainFileStorage.shutdownAndAwaitCompletion();
+	}
+
+	// Statistiche riassuntive: bestLifeTime è la miglior fitness aggregata, maxTubePassed il massimo su tutti i percorsi
+	private final GameStats gameStats = new GameStats();
+	private final GameStats[] vWorldStats;
+	private final GameWorld[] vWorlds;
+	private final TubeCourse[] vCourses;
+	// RNG per pesi e mutazioni (i percorsi hanno seed propri)
+	private final Random random;
+
+	private final int nBirdsXGen;
+	private final double dt, maxGenSeconds;
+	private final FitnessAggregate aggregate;
+
+	// Genomi della generazione corrente, letti in parallelo da tutti i mondi a inizio generazione
+	// Doppio buffer come in GameWorld: il trainer scrive i figli in nextGenomePool leggendo i genitori da genomePool
+	private final BrainTopology topology = BrainTopology.DEFAULT;
+	private GenomePool genomePool, nextGenomePool;
+	private Trainer trainer;
+	// Fitness aggregata (passata al trainer), media e minimo dei tempi di vita di ogni uccello sui percorsi
+	private final double[] vFitness, vMeanFitness, vMinFitness;
+
+	// Genoma con la miglior fitness aggregata di sempre (copia, lo slot del pool viene riscritto)
+	private final double[] vBestGenome = new double[topology.getGenomeSize()];
+	private boolean hasBestGenome = false;
+	private double bestFitness = 0;
+
+	public MultiCourseTrainer(int nCourses, int nTubesXCourse, int nBirdsXGen, int birdsRegenPerc, int gameWidth, int gameHeight, double dt, double maxGenSeconds, FitnessAggregate aggregate, long seed) throws NullPointerException, IllegalArgumentException {
+		if (nCourses <= 0) {
+			throw new IllegalArgumentException("Number of Courses Must be Greater than 0");
+		}
+		if (dt <= 0) {
+			throw new IllegalArgumentException("Delta Time Must be Greater than 0");
+		}
+		if (maxGenSeconds < 0) {
+			throw new IllegalArgumentException("Max Generation Seconds Cannot be Negative");
+		}
+
+		this.aggregate = Objects.requireNonNull(aggregate, "Fitness Aggregate Cannot be Null");
+		this.dt = dt;
+		this.maxGenSeconds = maxGenSeconds;
+
+		Random seedRandom = new Random(seed);
+		vWorldStats = new GameStats[nCourses];
+		vWorlds = new GameWorld[nCourses];
+		vCourses = new TubeCourse[nCourses];
+		for (int k = 0; k < nCourses; ++k) {
+			vCourses[k] = new TubeCourse(seedRandom.nextLong(), nTubesXCourse);
+			vWorldStats[k] = new GameStats();
+			vWorlds[k] = new GameWorld(vWorldStats[k], nBirdsXGen, birdsRegenPerc, gameWidth, gameHeight, new Random(seedRandom.nextLong()));
+			vWorlds[k].setTubeCourse(Optional.of(vCourses[k]));
+			// Un thread per percorso: niente parallelismo interno al mondo
+			vWorlds[k].setParallelism(1);
+		}
+		random = new Random(seedRandom.nextLong());
+
+		this.nBirdsXGen = nBirdsXGen;
+		genomePool = new GenomePool(topology, nBirdsXGen);
+		nextGenomePool = new GenomePool(topology, nBirdsXGen);
+		GeneticTrainer geneticTrainer = new GeneticTrainer(nBirdsXGen, birdsRegenPerc);
+		geneticTrainer.setSelection(Math.max(1, nBirdsXGen * GeneticTrainer.DEFAULT_ELITE_PERC / 100), DEFAULT_TOURNAMENT_SIZE);
+		geneticTrainer.setCrossover(DEFAULT_CROSSOVER);
+		trainer = geneticTrainer;
+		vFitness = new double[nBirdsXGen];
+		vMeanFitness = new double[nBirdsXGen];
+		vMinFitness = new double[nBirdsXGen];
+	}
+
+	// Algoritmo che crea le generazioni dalle fitness aggregate: da impostare prima di runGenerations()
+	public void setTrainer(Trainer trainer) throws NullPointerException {
+		this.trainer = Objects.requireNonNull(trainer, "Trainer Cannot be Null");
+	}
+
+	// Parametri dell'algoritmo genetico (il trainer di default)
+	public void setSelection(int nElites, int tournamentSize) throws IllegalArgumentException, IllegalStateException {
+		getGeneticTrainer().setSelection(nElites, tournamentSize);
+	}
+
+	public void setCrossover(GenomePool.Crossover crossover) throws NullPointerException, IllegalStateException {
+		getGeneticTrainer().setCrossover(crossover);
+	}
+
+	private GeneticTrainer getGeneticTrainer() throws IllegalStateException {
+		if (trainer instanceof GeneticTrainer geneticTrainer) {
+			return geneticTrainer;
+		}
+		throw new IllegalStateException("Selection and Crossover Require the Genetic Trainer");
+	}
+
+	public void runGenerations(int nGens) throws IllegalArgumentException, InterruptedException, ExecutionException {
+		if (nGens <= 0) {
+			throw new IllegalArgumentException("Number of Generations Must be Greater than 0");
+		}
+
+		long startTime = System.nanoTime();
+		List<Future<?>> vFutures = new ArrayList<>(vWorlds.length);
+
+		ExecutorService executor = Executors.newFixedThreadPool(vWorlds.length, Thread.ofPlatform().name("course-", 0).factory());
+		try {
+			for (int i = 0; i < nGens; ++i) {
+				createGenGenomes(gameStats.isFirstGen());
+
+				// Stessi genomi su tutti i percorsi, in parallelo
+				vFutures.clear();
+				for (int k = 0; k < vWorlds.length; ++k) {
+					int courseIndex = k;
+					vFutures.add(executor.submit(() -> playOneGen(courseIndex)));
+				}
+				for (Future<?> future : vFutures) {
+					future.get();
+				}
+
+				int bestIndex = aggregateFitness();
+				if (!hasBestGenome || vFitness[bestIndex] > bestFitness) {
+					bestFitness = vFitness[bestIndex];
+					genomePool.copyTo(bestIndex, vBestGenome, 0);
+					hasBestGenome = true;
+				}
+				updateGameStats();
+
+				System.out.println(String.join(" - ",
+						"Gen: " + gameStats.nGen,
+						"Best Mean: " + GameClock.roundAndFormatTwoDecimals(vMeanFitness[bestIndex]) + "s",
+						"Best Min: " + GameClock.roundAndFormatTwoDecimals(vMinFitness[bestIndex]) + "s",
+						"MaxTubePassed: " + gameStats.maxTubePassed));
+				++gameStats.nGen;
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+
+		double elapsedS = (System.nanoTime() - startTime) / 1e9;
+		System.out.println(String.join(" - ",
+				"Courses: " + vWorlds.length,
+				"Generations: " + nGens,
+				"Elapsed: " + GameClock.roundAndFormatTwoDecimals(elapsedS) + "s",
+				"Gens/s: " + GameClock.roundAndFormatTwoDecimals(nGens / elapsedS),
+				"Best " + aggregate + " Fitness: " + GameClock.roundAndFormatTwoDecimals(bestFitness) + "s"));
+	}
+
+	// Genomi della prima generazione dal trainer (di default tutti casuali), poi dal trainer con le fitness aggregate della generazione valutata
+	// Gli slot non scritti dal trainer sono casuali, come gli uccelli casuali di GameWorld
+	private void createGenGenomes(boolean isFirstGen) {
+		double[] vBest = hasBestGenome ? vBestGenome : null;
+		int nTrained = isFirstGen
+				? trainer.initGeneration(vBest, nextGenomePool, nBirdsXGen, random)
+				: trainer.nextGeneration(genomePool, vFitness, nBirdsXGen, vBest, nextGenomePool, nBirdsXGen, random);
+		if (nTrained < 0 || nTrained > nBirdsXGen) {
+			throw new IllegalStateException("Invalid Number of Trainer Birds: " + nTrained + " (Max " + nBirdsXGen + ")");
+		}
+
+		GenomePool tmp = genomePool;
+		genomePool = nextGenomePool;
+		nextGenomePool = tmp;
+
+		for (int slot = nTrained; slot < nBirdsXGen; ++slot) {
+			genomePool.randomize(slot, random);
+		}
+	}
+
+	private void playOneGen(int courseIndex) {
+		GameWorld world = vWorlds[courseIndex];
+		world.startGen(genomePool, nBirdsXGen);
+
+		while (!world.isGenOver()) {
+			world.step(dt);
+
+			if (maxGenSeconds > 0 && vWorldStats[courseIndex].currLifeTime >= maxGenSeconds) {
+				break;
+			}
+		}
+	}
+
+	// Calcola media, minimo e fitness aggregata dei tempi di vita di ogni uccello sui percorsi, ritorna l'indice del migliore
+	private int aggregateFitness() {
+		int bestIndex = 0;
+
+		for (int i = 0; i < nBirdsXGen; ++i) {
+			double sum = 0, min = Double.MAX_VALUE, lifeTime;
+			for (GameWorld world : vWorlds) {
+				lifeTime = world.getBirdLifeTime(i);
+				sum += lifeTime;
+				min = Math.min(min, lifeTime);
+			}
+			vMeanFitness[i] = sum / vWorlds.length;
+			vMinFitness[i] = min;
+			vFitness[i] = aggregate == FitnessAggregate.MEAN ? vMeanFitness[i] : vMinFitness[i];
+
+			// A parità di fitness vince l'indice minore (con GeneticTrainer il miglior genoma precedente è in posizione 0)
+			if (vFitness[i] > vFitness[bestIndex]) {
+				bestIndex = i;
+			}
+		}
+
+		return bestIndex;
+	}
+
+	private void updateGameStats() {
+		gameStats.bestLifeTime = bestFitness;
+		for (GameStats worldStats : vWorldStats) {
+			gameStats.maxTubePassed = Math.max(gameStats.maxTubePassed, worldStats.maxTubePassed);
+		}
+	}
+
+	public GameStats getGameStats() {
+		return gameStats;
+	}
+
+	// BirdBrain creato dal miglior genoma solo quando richiesto (salvataggio)
+	public Optional<BirdBrain> getBestBirdBrain() {
+		return hasBestGenome ? Optional.of(BirdBrain.fromGenome(topology, vBestGenome, 0)) : Optional.empty();
+	}
+
+	public TubeCourse getCourse(int courseIndex) throws IndexOutOfBoundsException {
+		Objects.checkIndex(courseIndex, vCourses.length);
+		return vCourses[courseIndex];
+	}
+
+}
\ No newline at end of file
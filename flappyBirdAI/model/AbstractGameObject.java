@@ -4,8 +4,6 @@
 
 package flappyBirdAI.model;
 
-import java.awt.Rectangle;
-
 public abstract class AbstractGameObject implements GameObject {
 	
 	public static final int ANIMATION_REFRESH_MS = 150;
@@ -17,7 +15,6 @@ public abstract class AbstractGameObject implements GameObject {
 	
 	protected int frameIndex = 0;
 	protected boolean showSprite = true;
-	protected Rectangle[] hitBox;
 	
 	@Override
 	public boolean isAlive() {
@@ -49,20 +46,6 @@ public abstract class AbstractGameObject implements GameObject {
 		return h;
 	}
 
-	@Override
-	public void updateHitBox() {
-		if (hitBox == null) {
-			hitBox = new Rectangle[] { new Rectangle(x, y, w, h) };
-		} else {
-			hitBox[0].setBounds(x, y, w, h);
-		}
-	}
-	
-	@Override
-	public Rectangle[] getHitBox() {
-		return hitBox;
-	}
-	
 	@Override
 	public int getFrameIndex() {
 		return frameIndex;
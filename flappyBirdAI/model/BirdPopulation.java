@@ -0,0 +1,374 @@
+/**
+ * @author Federico Sabbatani
+ */
+
+package flappyBirdAI.model;
+
+import flappyBirdAI.ai.GenomePool;
+import flappyBirdAI.model.entities.FlappyBird;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.function.IntConsumer;
+
+// Popolazione di uccelli in formato Struct-of-Arrays: stato in array primitivi contigui, indicizzati per uccello
+// Tutti gli uccelli condividono x, w e h, quindi solo y, vy e lifeTime sono memorizzati per uccello
+// I FlappyBird sono usati solo per il rendering e creati su richiesta (mai nel ciclo di simulazione), poi riutilizzati tra le generazioni
+// I pesi degli uccelli non sono qui: stanno nel GenomePool del mondo, allo stesso indice
+public final class BirdPopulation {
+
+	// Spostamenti medi per uccello dell'insertion sort dell'indice per y oltre i quali conviene il counting sort
+	private static final int MAX_Y_INDEX_SHIFTS_X_BIRD = 8;
+
+	private final int capacity;
+	private final int x;
+
+	// Pubblici per Performance in Game Loop (come i campi di AbstractGameObject)
+	public final int[] y;
+	public final double[] vy, lifeTime;
+
+	// Bitset degli uccelli vivi: bit i della parola i >> 6
+	private final long[] aliveBits;
+	private final FlappyBird[] renderBirds;
+	// Bit i a 1 se renderBirds[i] è già stato reinizializzato per la generazione corrente
+	private final long[] renderBits;
+	// FlappyBird (con il loro BirdBrain) riutilizzati (hit) e creati (miss) da collectRenderables()
+	private long nRenderBirdHits = 0, nRenderBirdMisses = 0;
+
+	// Indice degli uccelli ordinato per y: posizioni [0, yIndexSize) di yIndex, riordinato da sortYIndex() partendo dall'ordine del passo precedente
+	// Può contenere uccelli morti fuori dall'indice (kill(), markDead()), tolti al riordino successivo
+	private int[] yIndex, yIndexTmp;
+	// Contatori del counting sort di riserva, uno per valore di y nell'intervallo degli uccelli (riallocato solo se l'intervallo cresce)
+	private int[] yCounts = new int[0];
+	private int yIndexSize = 0;
+
+	private int size = 0, nAlive = 0;
+
+	public BirdPopulation(int capacity, int x) throws IllegalArgumentException {
+		if (capacity <= 0) {
+			throw new IllegalArgumentException("Population Capacity Must be Greater than Zero");
+		}
+
+		this.capacity = capacity;
+		this.x = x;
+
+		y = new int[capacity];
+		vy = new double[capacity];
+		lifeTime = new double[capacity];
+		aliveBits = new long[(capacity + 63) >> 6];
+		renderBirds = new FlappyBird[capacity];
+		renderBits = new long[aliveBits.length];
+		yIndex = new int[capacity];
+		yIndexTmp = new int[capacity];
+	}
+
+	// Population Management
+
+	public int add(int y0) throws IllegalStateException {
+		if (size == capacity) {
+			throw new IllegalStateException("Population Full: Capacity " + capacity);
+		}
+
+		int i = size++;
+		y[i] = y0;
+		vy[i] = 0;
+		lifeTime[i] = 0;
+		aliveBits[i >> 6] |= 1L << i;
+		++nAlive;
+		yIndex[yIndexSize++] = i;
+
+		return i;
+	}
+
+	public void clear() {
+		Arrays.fill(aliveBits, 0L);
+		// I FlappyBird restano in renderBirds per essere reinizializzati nella prossima generazione
+		Arrays.fill(renderBits, 0L);
+		size = 0;
+		nAlive = 0;
+		yIndexSize = 0;
+	}
+
+	public boolean isAlive(int i) {
+		return (aliveBits[i >> 6] & (1L << i)) != 0;
+	}
+
+	public void kill(int i) {
+		if (isAlive(i)) {
+			aliveBits[i >> 6] &= ~(1L << i);
+			--nAlive;
+		}
+	}
+
+	// Versione di kill() per aggiornamenti paralleli su parole del bitset disgiunte: azzera solo il bit,
+	// il chiamante deve poi riportare il numero totale di morti con commitDeaths() da un solo thread
+	public void markDead(int i) {
+		aliveBits[i >> 6] &= ~(1L << i);
+	}
+
+	public void commitDeaths(int nDead) {
+		nAlive -= nDead;
+	}
+
+	// Indice del prossimo uccello vivo a partire da fromIndex (incluso), -1 se non ce ne sono
+	public int nextAlive(int fromIndex) {
+		if (fromIndex >= size) {
+			return -1;
+		}
+
+		int wordIndex = fromIndex >> 6;
+		long word = aliveBits[wordIndex] & (-1L << fromIndex);
+
+		while (true) {
+			if (word != 0) {
+				int i = (wordIndex << 6) + Long.numberOfTrailingZeros(word);
+				return i < size ? i : -1;
+			}
+			if (++wordIndex == aliveBits.length) {
+				return -1;
+			}
+			word = aliveBits[wordIndex];
+		}
+	}
+
+	public void jump(int i) {
+		vy[i] = -FlappyBird.JUMP_FORCE;
+	}
+
+	// Physics Kernel
+
+	// Integrazione del moto di tutti gli uccelli vivi con termini costanti calcolati una sola volta per passo
+	// Le parole del bitset completamente piene sono aggiornate con un ciclo contiguo senza salti (vettorizzabile dal JIT)
+	public void updateXY(double dt_s) {
+		updateXY(dt_s, 0, aliveBits.length);
+	}
+
+	// Aggiorna solo gli uccelli delle parole [fromWord, toWord) del bitset (porzioni disgiunte aggiornabili in parallelo)
+	public void updateXY(double dt_s, int fromWord, int toWord) {
+		final double dvy = FlappyBird.GRAVITY * dt_s;
+		final double halfGDt2 = 0.5 * FlappyBird.GRAVITY * dt_s * dt_s;
+		long word;
+		int base, i;
+
+		for (int w = fromWord; w < toWord; ++w) {
+			word = aliveBits[w];
+			base = w << 6;
+
+			if (word == -1L) {
+				for (i = base; i < base + 64; ++i) {
+					vy[i] += dvy;
+					y[i] += (int) (vy[i] * dt_s + halfGDt2);
+					lifeTime[i] += dt_s;
+				}
+			} else {
+				while (word != 0) {
+					i = base + Long.numberOfTrailingZeros(word);
+					word &= word - 1;
+
+					vy[i] += dvy;
+					y[i] += (int) (vy[i] * dt_s + halfGDt2);
+					lifeTime[i] += dt_s;
+				}
+			}
+		}
+	}
+
+	// Y-Sorted Index
+
+	// Uccide tutti gli uccelli vivi con y fuori da [minY, maxY] (minY > maxY li uccide tutti), chiamando onKill per ognuno
+	// Con l'indice ordinato per y i morti sono un prefisso e un suffisso: due ricerche binarie + O(morti) invece di controllare ogni uccello,
+	// dopo il riordino incrementale dell'indice (O(vivi + scambi di posto del passo), senza confronti con i limiti)
+	// Ritorna il numero di uccelli uccisi
+	public int killOutsideY(int minY, int maxY, IntConsumer onKill) {
+		sortYIndex();
+
+		int from = lowerBoundY(minY), to = Math.max(from, upperBoundY(maxY));
+		for (int p = 0; p < from; ++p) {
+			kill(yIndex[p]);
+			onKill.accept(yIndex[p]);
+		}
+		for (int p = to; p < yIndexSize; ++p) {
+			kill(yIndex[p]);
+			onKill.accept(yIndex[p]);
+		}
+
+		// I morti restano nell'indice e sono tolti dal prossimo riordino, che scorre comunque tutto l'indice
+		return from + (yIndexSize - to);
+	}
+
+	// Riordina l'indice per y togliendo i morti: insertion sort stabile sull'ordine del passo precedente
+	// In un passo gli uccelli si spostano di pochi pixel, quindi l'indice è quasi ordinato e il costo è O(vivi + scambi di posto)
+	// Oltre MAX_Y_INDEX_SHIFTS_X_BIRD spostamenti per uccello (inizio generazione, y casuali) il resto è riordinato con il counting sort
+	private void sortYIndex() {
+		final int maxShifts = MAX_Y_INDEX_SHIFTS_X_BIRD * yIndexSize;
+		int n = 0, nShifts = 0, i, yi, q;
+
+		for (int p = 0; p < yIndexSize; ++p) {
+			i = yIndex[p];
+			if (!isAlive(i)) {
+				continue;
+			}
+
+			yi = y[i];
+			q = n;
+			while (q > 0 && y[yIndex[q - 1]] > yi) {
+				yIndex[q] = yIndex[q - 1];
+				--q;
+			}
+			yIndex[q] = i;
+			++n;
+
+			nShifts += n - 1 - q;
+			if (nShifts > maxShifts) {
+				countingSortYIndex(n, p + 1);
+				return;
+			}
+		}
+		yIndexSize = n;
+	}
+
+	// Counting sort stabile sulla y intera (già quantizzata al pixel) di [0, n) e dei vivi di [from, yIndexSize)
+	// Costo O(vivi + intervallo delle y) indipendente da quanto gli uccelli si sono scambiati di posto nell'ultimo passo
+	private void countingSortYIndex(int n, int from) {
+		int minY = Integer.MAX_VALUE, maxY = Integer.MIN_VALUE, i, yi;
+
+		for (int p = from; p < yIndexSize; ++p) {
+			i = yIndex[p];
+			if (isAlive(i)) {
+				yIndex[n++] = i;
+			}
+		}
+		yIndexSize = n;
+		for (int p = 0; p < n; ++p) {
+			minY = Math.min(minY, y[yIndex[p]]);
+			maxY = Math.max(maxY, y[yIndex[p]]);
+		}
+
+		if (n < 2 || minY == maxY) {
+			return;
+		}
+
+		// yCounts[k + 1] = uccelli con y = minY + k, poi somme prefisse: yCounts[k] = prima posizione della y minY + k
+		int nCounts = maxY - minY + 2;
+		if (yCounts.length < nCounts) {
+			yCounts = new int[nCounts];
+		} else {
+			Arrays.fill(yCounts, 0, nCounts, 0);
+		}
+		for (int p = 0; p < n; ++p) {
+			++yCounts[y[yIndex[p]] - minY + 1];
+		}
+		for (int k = 1; k < nCounts; ++k) {
+			yCounts[k] += yCounts[k - 1];
+		}
+		for (int p = 0; p < n; ++p) {
+			i = yIndex[p];
+			yi = y[i] - minY;
+			yIndexTmp[yCounts[yi]++] = i;
+		}
+
+		int[] tmp = yIndex;
+		yIndex = yIndexTmp;
+		yIndexTmp = tmp;
+	}
+
+	// Prima posizione dell'indice con y >= value
+	private int lowerBoundY(int value) {
+		int lo = 0, hi = yIndexSize, mid;
+
+		while (lo < hi) {
+			mid = (lo + hi) >>> 1;
+			if (y[yIndex[mid]] < value) {
+				lo = mid + 1;
+			} else {
+				hi = mid;
+			}
+		}
+
+		return lo;
+	}
+
+	// Prima posizione dell'indice con y > value
+	private int upperBoundY(int value) {
+		int lo = 0, hi = yIndexSize, mid;
+
+		while (lo < hi) {
+			mid = (lo + hi) >>> 1;
+			if (y[yIndex[mid]] <= value) {
+				lo = mid + 1;
+			} else {
+				hi = mid;
+			}
+		}
+
+		return lo;
+	}
+
+	// Rendering
+
+	// Aggiunge a vOut i FlappyBird degli uccelli vivi, sincronizzati con lo stato degli array
+	// Il cervello dell'uccello i è letto dallo slot i di genomePool la prima volta che viene reso nella generazione
+	// Il FlappyBird dell'indice i e il suo cervello sono creati solo la prima volta in assoluto (o se la topologia cambia),
+	// nelle generazioni successive sono reinizializzati
+	public void collectRenderables(Collection<? super FlappyBird> vOut, GenomePool genomePool) {
+		FlappyBird bird;
+
+		for (int i = nextAlive(0); i >= 0; i = nextAlive(i + 1)) {
+			bird = renderBirds[i];
+			if ((renderBits[i >> 6] & (1L << i)) == 0) {
+				if (bird == null) {
+					bird = renderBirds[i] = new FlappyBird(x, y[i], genomePool.toBrain(i));
+					++nRenderBirdMisses;
+				} else if (bird.getBrain().getTopology().equals(genomePool.getTopology())) {
+					genomePool.copyTo(i, bird.getBrain());
+					bird.reinitialize(x, y[i], bird.getBrain());
+					++nRenderBirdHits;
+				} else {
+					bird.reinitialize(x, y[i], genomePool.toBrain(i));
+					++nRenderBirdMisses;
+				}
+				renderBits[i >> 6] |= 1L << i;
+			}
+			bird.y = y[i];
+			bird.vy = vy[i];
+			bird.lifeTime = lifeTime[i];
+			vOut.add(bird);
+		}
+	}
+
+	// Getters
+
+	// Bitset dei vivi in sola lettura (esposto per i kernel a blocchi di 64 uccelli)
+	public long[] getAliveBits() {
+		return aliveBits;
+	}
+
+	public int getX() {
+		return x;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public int getNAlive() {
+		return nAlive;
+	}
+
+	public int getCapacity() {
+		return capacity;
+	}
+
+	public long getNRenderBirdHits() {
+		return nRenderBirdHits;
+	}
+
+	public long getNRenderBirdMisses() {
+		return nRenderBirdMisses;
+	}
+
+	// Numero di parole del bitset dei vivi (blocchi da 64 uccelli)
+	public int getNWords() {
+		return aliveBits.length;
+	}
+
+}
\ No newline at end of file
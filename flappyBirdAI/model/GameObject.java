@@ -4,7 +4,6 @@
 
 package flappyBirdAI.model;
 
-import java.awt.Rectangle;
 import java.util.List;
 import java.util.Objects;
 
@@ -16,8 +15,6 @@ public interface GameObject {
 	int getY();
 	int getW();
 	int getH();
-	void updateHitBox();
-	Rectangle[] getHitBox();
 	int getFrameIndex();
 	boolean isShowSprite();
 	
@@ -30,19 +27,19 @@ public interface GameObject {
 		return getX() + getW() < 0 || getX() > screenWidth || getY() + getH() < 0 || getY() > screenHeight;
 	}
 	
-	default boolean checkCollision(Rectangle[] vHitBox) throws NullPointerException {
-		Objects.requireNonNull(vHitBox, "HitBox Array Cannot be Null");
-
-		for (Rectangle ownBox : getHitBox()) {
-			for (Rectangle otherBox : vHitBox) {
-				Objects.requireNonNull(otherBox, "Individual HitBox Cannot be Null");
-				if (ownBox.intersects(otherBox)) {
-					return true;
-				}
-			}
-		}
-		
-		return false;
+	// Intersezione tra [x1, x1 + w1) x [y1, y1 + h1) e [x2, x2 + w2) x [y2, y2 + h2) su interi (stessa semantica di java.awt.Rectangle.intersects)
+	static boolean intersects(int x1, int y1, int w1, int h1, int x2, int y2, int w2, int h2) {
+		return w1 > 0 && h1 > 0 && w2 > 0 && h2 > 0 && x1 < x2 + w2 && x2 < x1 + w1 && y1 < y2 + h2 && y2 < y1 + h1;
+	}
+	
+	// La hitbox è il rettangolo dell'oggetto (x, y, w, h); gli oggetti composti la ridefiniscono sui propri componenti
+	default boolean intersects(int x, int y, int w, int h) {
+		return intersects(getX(), getY(), getW(), getH(), x, y, w, h);
+	}
+	
+	default boolean checkCollision(GameObject other) throws NullPointerException {
+		Objects.requireNonNull(other, "Other GameObject Cannot be Null");
+		return other.intersects(getX(), getY(), getW(), getH());
 	}
 	
 	// Per i GameObject composti da diversi componenti
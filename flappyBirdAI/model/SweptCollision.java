@@ -0,0 +1,87 @@
+/**
+ * @author Federico Sabbatani
+ */
+
+package flappyBirdAI.model;
+
+// Collisione continua (swept) durante un passo di durata dt, per passi grandi in cui uccelli e tubi si attraverserebbero tra due controlli discreti
+// Il tubo si muove a velocità costante da x0 a x1, l'uccello su una parabola y(t) = y0 + v * t + 0.5 * g * t^2 con t in [0, dt]
+// Tutti gli intervalli sono aperti come in GameObject.intersects: il solo contatto dei bordi non è una collisione
+public final class SweptCollision {
+
+	// Costruttore privato per evitare l'istanziazione
+	private SweptCollision() {
+		throw new UnsupportedOperationException("SweptCollision is a utility class and cannot be instantiated.");
+	}
+
+	// Primo istante in [0, dt] in cui il tubo largo tubeW (da x0 a x1 nel passo) si sovrappone alla colonna [colX, colX + colW)
+	// Double.POSITIVE_INFINITY se non si sovrappongono mai nel passo
+	public static double columnEnterTime(int x0, int x1, int tubeW, int colX, int colW, double dt) {
+		double enterT = columnBoundTime(x0, x1, tubeW, colX, colW, dt, true);
+		return enterT < columnBoundTime(x0, x1, tubeW, colX, colW, dt, false) ? enterT : Double.POSITIVE_INFINITY;
+	}
+
+	// Ultimo istante in [0, dt] della sovrapposizione tra tubo e colonna (significativo solo se columnEnterTime() è finito)
+	public static double columnExitTime(int x0, int x1, int tubeW, int colX, int colW, double dt) {
+		return columnBoundTime(x0, x1, tubeW, colX, colW, dt, false);
+	}
+
+	// Estremo iniziale (isEnter) o finale dell'intervallo di [0, dt] in cui colX - tubeW < x(t) < colX + colW, con x(t) = x0 + (x1 - x0) * t / dt
+	// Intervallo vuoto [0, 0] se non si sovrappongono mai; solo primitive, nessuna allocazione per passo
+	private static double columnBoundTime(int x0, int x1, int tubeW, int colX, int colW, double dt, boolean isEnter) {
+		double minX = colX - tubeW, maxX = colX + colW;
+
+		if (x0 == x1 || dt <= 0) {
+			return !isEnter && x0 > minX && x0 < maxX ? Math.max(dt, 0) : 0;
+		}
+
+		double vx = (x1 - x0) / dt;
+		double tA = (minX - x0) / vx, tB = (maxX - x0) / vx;
+		return isEnter ? Math.max(0, Math.min(tA, tB)) : Math.min(dt, Math.max(tA, tB));
+	}
+
+	// Primo istante in [tFrom, tTo] in cui l'uccello alto birdH tocca uno dei tubi del buco [yHoleTop, yHoleBottom):
+	// y(t) < yHoleTop (tubo superiore) oppure y(t) + birdH > yHoleBottom (tubo inferiore), Double.POSITIVE_INFINITY se resta nel buco
+	// Integer.MIN_VALUE / Integer.MAX_VALUE come estremi indicano un tubo assente (come TubePair.getYHoleTop() / getYHoleBottom())
+	public static double holeExitTime(double y0, double v, double g, int birdH, int yHoleTop, int yHoleBottom, double tFrom, double tTo) {
+		double t = Double.POSITIVE_INFINITY;
+
+		if (yHoleTop != Integer.MIN_VALUE) {
+			t = firstTimeBelow(y0 - yHoleTop, v, g, tFrom, tTo);
+		}
+		if (yHoleBottom != Integer.MAX_VALUE) {
+			// y(t) > yHoleBottom - birdH equivale a -y(t) < birdH - yHoleBottom
+			t = Math.min(t, firstTimeBelow(yHoleBottom - birdH - y0, -v, -g, tFrom, tTo));
+		}
+
+		return t;
+	}
+
+	// Primo istante in [tFrom, tTo] in cui f(t) = c + v * t + 0.5 * g * t^2 < 0, Double.POSITIVE_INFINITY se non esiste
+	private static double firstTimeBelow(double c, double v, double g, double tFrom, double tTo) {
+		if (tFrom > tTo) {
+			return Double.POSITIVE_INFINITY;
+		}
+		if (c + v * tFrom + 0.5 * g * tFrom * tFrom < 0) {
+			return tFrom;
+		}
+
+		// f(tFrom) >= 0: primo zero dopo tFrom in cui f passa a valori negativi
+		double t;
+		if (g == 0) {
+			t = v < 0 ? -c / v : Double.POSITIVE_INFINITY;
+		} else {
+			double disc = v * v - 2 * g * c;
+			if (disc <= 0) {
+				return Double.POSITIVE_INFINITY;
+			}
+			double sqrtDisc = Math.sqrt(disc);
+			// Con g > 0 f è negativa tra le radici (entra nella minore), con g < 0 fuori (entra nella maggiore)
+			double r1 = (-v - sqrtDisc) / g, r2 = (-v + sqrtDisc) / g;
+			t = g > 0 ? Math.min(r1, r2) : Math.max(r1, r2);
+		}
+
+		return t >= tFrom && t < tTo ? t : Double.POSITIVE_INFINITY;
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,51 @@
+/**
+ * @author Federico Sabbatani
+ */
+
+package flappyBirdAI.model;
+
+import flappyBirdAI.model.entities.TubePair;
+import java.util.Random;
+
+// Percorso di tubi pre-generato da un seed: la stessa sequenza di buchi a ogni generazione
+// Permette di valutare tutti gli uccelli sugli stessi ostacoli, eliminando la fortuna del percorso casuale
+// Le posizioni sono salvate come percentuale dell'altezza, valide per qualsiasi dimensione della finestra
+public final class TubeCourse {
+
+	private final long seed;
+	// Centro del buco di ogni tubo come percentuale dell'altezza (per il costruttore TubePair con holeRatio)
+	private final double[] vHoleRatios;
+
+	public TubeCourse(long seed, int nTubes) throws IllegalArgumentException {
+		if (nTubes <= 0) {
+			throw new IllegalArgumentException("Number of Tubes Must be Greater than 0");
+		}
+
+		this.seed = seed;
+		vHoleRatios = new double[nTubes];
+
+		Random random = new Random(seed);
+		for (int i = 0; i < nTubes; ++i) {
+			// Stesso intervallo dei tubi casuali: centro dello schermo +/- HOLE_OFFSET_RATIO dell'altezza
+			vHoleRatios[i] = 0.5 + TubePair.HOLE_OFFSET_RATIO * (2 * random.nextDouble() - 1);
+		}
+	}
+
+	// Il percorso ricomincia dall'inizio dopo l'ultimo tubo
+	public double getHoleRatio(int tubeIndex) {
+		return vHoleRatios[Math.floorMod(tubeIndex, vHoleRatios.length)];
+	}
+
+	public TubePair createTubePair(int tubeIndex, int x0, int gameHeight) throws IllegalStateException {
+		return new TubePair(x0, gameHeight, getHoleRatio(tubeIndex));
+	}
+
+	public long getSeed() {
+		return seed;
+	}
+
+	public int getNTubes() {
+		return vHoleRatios.length;
+	}
+
+}
\ No newline at end of file
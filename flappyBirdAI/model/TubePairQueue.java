@@ -0,0 +1,108 @@
+/**
+ * @author Federico Sabbatani
+ */
+
+package flappyBirdAI.model;
+
+import flappyBirdAI.model.entities.TubePair;
+import java.util.Arrays;
+import java.util.Objects;
+
+// Coda dei TubePair del mondo ordinati per x crescente (dal più a sinistra), in un buffer circolare separato dagli uccelli
+// I tubi nascono a destra e si muovono tutti alla stessa velocità, quindi l'ordine di inserimento è l'ordine per x:
+// primo e ultimo tubo, nascita (in coda) e rimozione (in testa o in coda) sono O(1), senza scansioni
+public final class TubePairQueue {
+
+	// Capacità sempre potenza di 2 (indice circolare con una maschera)
+	private TubePair[] vTubePairs;
+	private int head = 0, size = 0;
+
+	public TubePairQueue(int initialCapacity) throws IllegalArgumentException {
+		if (initialCapacity <= 0) {
+			throw new IllegalArgumentException("Initial Capacity Must be Greater than Zero");
+		}
+
+		int capacity = Integer.highestOneBit(initialCapacity);
+		vTubePairs = new TubePair[capacity < initialCapacity ? capacity << 1 : capacity];
+	}
+
+	// Il nuovo tubo non può stare a sinistra dell'ultimo, altrimenti l'ordine per x non sarebbe più garantito
+	public void addLast(TubePair tubePair) throws NullPointerException, IllegalArgumentException {
+		Objects.requireNonNull(tubePair, "Tube Pair Cannot be Null");
+		TubePair lastTubePair = peekLast();
+		if (lastTubePair != null && tubePair.x < lastTubePair.x) {
+			throw new IllegalArgumentException("Tube Pair Out of Order: X " + tubePair.x + " Before Last Tube Pair X " + lastTubePair.x);
+		}
+
+		if (size == vTubePairs.length) {
+			grow();
+		}
+		vTubePairs[(head + size++) & (vTubePairs.length - 1)] = tubePair;
+	}
+
+	// Primo tubo (il più a sinistra), null se la coda è vuota
+	public TubePair peekFirst() {
+		return size > 0 ? vTubePairs[head] : null;
+	}
+
+	// Ultimo tubo (il più a destra), null se la coda è vuota
+	public TubePair peekLast() {
+		return size > 0 ? vTubePairs[(head + size - 1) & (vTubePairs.length - 1)] : null;
+	}
+
+	// Rimuove e ritorna il primo tubo, null se la coda è vuota
+	public TubePair pollFirst() {
+		if (size == 0) {
+			return null;
+		}
+
+		TubePair tubePair = vTubePairs[head];
+		vTubePairs[head] = null;
+		head = (head + 1) & (vTubePairs.length - 1);
+		--size;
+		return tubePair;
+	}
+
+	// Rimuove e ritorna l'ultimo tubo, null se la coda è vuota
+	public TubePair pollLast() {
+		if (size == 0) {
+			return null;
+		}
+
+		int index = (head + --size) & (vTubePairs.length - 1);
+		TubePair tubePair = vTubePairs[index];
+		vTubePairs[index] = null;
+		return tubePair;
+	}
+
+	// k-esimo tubo dalla testa (0 = il più a sinistra)
+	public TubePair get(int k) throws IndexOutOfBoundsException {
+		Objects.checkIndex(k, size);
+		return vTubePairs[(head + k) & (vTubePairs.length - 1)];
+	}
+
+	public void clear() {
+		Arrays.fill(vTubePairs, null);
+		head = 0;
+		size = 0;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	// Raddoppia la capacità riportando la testa all'indice 0
+	private void grow() {
+		TubePair[] vNewTubePairs = new TubePair[vTubePairs.length << 1];
+		for (int k = 0; k < size; ++k) {
+			vNewTubePairs[k] = vTubePairs[(head + k) & (vTubePairs.length - 1)];
+		}
+		vTubePairs = vNewTubePairs;
+		head = 0;
+	}
+
+}
\ No newline at end of file
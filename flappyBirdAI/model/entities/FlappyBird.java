@@ -10,7 +10,7 @@ import flappyBirdAI.model.SpriteDescriptor;
 
 import java.util.Objects;
 
-public class FlappyBird extends AbstractGameObject {
+public final class FlappyBird extends AbstractGameObject {
 	
 	public static final int NUM_IMAGES = 4;
 	public static final String IMG_NAME = "FB";
@@ -18,19 +18,33 @@ public class FlappyBird extends AbstractGameObject {
 	public static final int WIDTH = 60;
 	public static final int HEIGHT = 45;
 	
+	public static final double GRAVITY = 700, JUMP_FORCE = 300;
+	
 	public double lifeTime = 0, vy = 0;
 	
-    private final double gravity = 700, jumpForce = 300;
-	private final BirdBrain brain;
+	// Massima velocità verticale in un'area alta gameHeight: dopo un salto dal bordo superiore, caduta fino al bordo inferiore
+	// v^2 = JUMP_FORCE^2 + 2 * GRAVITY * gameHeight (intervallo di vy per la normalizzazione degli input)
+	public static double getMaxSpeed(int gameHeight) {
+		return Math.sqrt(JUMP_FORCE * JUMP_FORCE + 2 * GRAVITY * gameHeight);
+	}
+	
+	private BirdBrain brain;
 
 	public FlappyBird(int x0, int y0, BirdBrain brain) throws NullPointerException {
+		reinitialize(x0, y0, brain);
+	}
+	
+	// Riporta l'uccello allo stato di uno appena creato con un nuovo cervello (uccello riutilizzato tra le generazioni)
+	public void reinitialize(int x0, int y0, BirdBrain brain) throws NullPointerException {
 		this.brain = Objects.requireNonNull(brain, "Bird Brain Cannot be Null");
         x = x0;
 		y = y0;
 		w = FlappyBird.WIDTH;
 		h = FlappyBird.HEIGHT;
-
-		updateHitBox();
+		vy = 0;
+		lifeTime = 0;
+		isAlive = true;
+		frameIndex = 0;
 	}
 	
 	public BirdBrain getBrain() {
@@ -52,15 +66,13 @@ public class FlappyBird extends AbstractGameObject {
 	
 	@Override
 	public void updateXY(double dt_s) {
-		vy += gravity * dt_s;
-		y += (int) (vy * dt_s + 0.5 * gravity * Math.pow(dt_s, 2));
-
-		updateHitBox();
+		vy += GRAVITY * dt_s;
+		y += (int) (vy * dt_s + 0.5 * GRAVITY * dt_s * dt_s);
 		lifeTime += dt_s;
 	}
 
 	public void jump() {
-		vy = -jumpForce;
+		vy = -JUMP_FORCE;
 	}
 	
 	@Override
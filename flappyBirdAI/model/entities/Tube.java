@@ -20,19 +20,27 @@ public class Tube extends AbstractGameObject {
     // Visibilità package-private per Accesso Solo da Stesso Package (TubePair)
     Tube(int x0, int y0, int height, boolean isSuperior) {
 		this.isSuperior = isSuperior;
+		reinitialize(x0, y0, height);
+    }
+    
+    // Riutilizzo del tubo da parte del TubePair che lo contiene
+    void reinitialize(int x0, int y0, int height) {
         x = x0;
         y = y0;
 		w = Tube.WIDTH;
 		h = height;
-
-        updateHitBox();
+		isAlive = true;
+		frameIndex = 0;
     }
     
     @Override
     public void updateXY(double dt_s) {
-        x -= (int) ((int) vx * dt_s);
-
-        updateHitBox();
+        x = getNextX(dt_s);
+    }
+    
+    // Posizione x dopo un passo di dt_s secondi, senza spostare il tubo (serve alla collisione continua)
+    public int getNextX(double dt_s) {
+        return x - (int) ((int) vx * dt_s);
     }
 	
 	@Override
@@ -6,52 +6,63 @@ package flappyBirdAI.model.entities;
 
 import flappyBirdAI.model.AbstractGameObject;
 import flappyBirdAI.model.GameObject;
-import java.awt.Rectangle;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Random;
 
-public class TubePair extends AbstractGameObject {
+public final class TubePair extends AbstractGameObject {
 	
 	private static final Random RANDOM = new Random();
 	
 	// Percentuale di quanto si può spostare il buco verso l'alto o verso il basso rispetto al centro dello schermo
-    private static final double HOLE_OFFSET_RATIO = 0.4;
+    public static final double HOLE_OFFSET_RATIO = 0.4;
     public static final int DIST_X_BETWEEN_TUBES = 750;
 	public static final int DIST_Y_BETWEEN_TUBES = 180;
 	
 	public static final int WIDTH = Tube.WIDTH;
 	
+	// I due tubi sono creati una sola volta e riutilizzati da reinitialize() (TubePair riciclabili da un pool)
+	private final Tube tubeUp, tubeDown;
+	private final Optional<Tube> tubeUpPresentOpt, tubeDownPresentOpt;
 	// Vuoti se l'altezza calcolata per quel tubo è 0 (il tubo non esiste)
-	private final Optional<Tube> tubeUpOpt, tubeDownOpt;
-	private final int yTubeHoleCenter;
+	private Optional<Tube> tubeUpOpt, tubeDownOpt;
+	private int yTubeHoleCenter;
+	// Estremi verticali del buco: fine del tubo superiore e inizio del tubo inferiore (che termina in h)
+	// Integer.MIN_VALUE / Integer.MAX_VALUE se il tubo corrispondente non esiste
+	private int yHoleTop, yHoleBottom;
 	
 	public TubePair(int x0, int gameHeight) throws IllegalStateException {
-        this.yTubeHoleCenter = randomYTubeHoleCenter(gameHeight);
-        
-        int upperTubeHeight = Math.max(0, yTubeHoleCenter - DIST_Y_BETWEEN_TUBES / 2);
-        int lowerTubeHeight = Math.max(0, gameHeight - upperTubeHeight - DIST_Y_BETWEEN_TUBES);
-        
-        // Se l'altezza calcolata è 0, il tubo corrispondente non esiste (Optional.empty())
-        this.tubeUpOpt = upperTubeHeight > 0 ? Optional.of(new Tube(x0, 0, upperTubeHeight, true)) : Optional.empty();
-        this.tubeDownOpt = lowerTubeHeight > 0 ? Optional.of(new Tube(x0, upperTubeHeight + DIST_Y_BETWEEN_TUBES, lowerTubeHeight, false)) : Optional.empty();
-        
-        if (tubeUpOpt.isEmpty() && tubeDownOpt.isEmpty()) {
-        	throw new IllegalStateException("Window Height Too Small: No Tube Can Exist (Height: " + gameHeight + ")");
-        }
-        
-        this.x = x0;
-        // La y del TubePair è sempre 0, dato che i tubi partono entrambi da y=0
-        this.y = 0;
-        this.w = TubePair.WIDTH;
-        this.h = gameHeight;
-        
-        updateHitBox();
-    }
+		this(x0, gameHeight, RANDOM);
+	}
+	
+	// Centro del buco estratto da random (es. un Random con seed per un percorso riproducibile)
+	public TubePair(int x0, int gameHeight, Random random) throws NullPointerException, IllegalStateException {
+		this();
+		reinitialize(x0, gameHeight, random);
+	}
 	
 	// Costruttore che permette di specificare la posizione del buco come percentuale dell'altezza (0.0 - 1.0)
-	public TubePair(int x0, int gameHeight, double holeRatio) throws IllegalStateException {	
+	public TubePair(int x0, int gameHeight, double holeRatio) throws IllegalStateException {
+		this();
+		reinitialize(x0, gameHeight, holeRatio);
+	}
+	
+	private TubePair() {
+		tubeUp = new Tube(0, 0, 0, true);
+		tubeDown = new Tube(0, 0, 0, false);
+		tubeUpPresentOpt = Optional.of(tubeUp);
+		tubeDownPresentOpt = Optional.of(tubeDown);
+	}
+	
+	// Riporta il TubePair allo stato di uno appena creato con TubePair(x0, gameHeight, random), senza allocazioni
+	public void reinitialize(int x0, int gameHeight, Random random) throws NullPointerException, IllegalStateException {
+		initTubes(x0, gameHeight, randomYTubeHoleCenter(gameHeight, Objects.requireNonNull(random, "Random Cannot be Null")));
+	}
+	
+	// Riporta il TubePair allo stato di uno appena creato con TubePair(x0, gameHeight, holeRatio), senza allocazioni
+	public void reinitialize(int x0, int gameHeight, double holeRatio) throws IllegalStateException {
 		int screenCenter = gameHeight / 2;
 		// valore massimo teorico di lontanza del buco dal centro dello schermo
         int maxHoleOffset = calcMaxHoleOffset(gameHeight);
@@ -62,26 +73,33 @@ public class TubePair extends AbstractGameObject {
         // Clampare l'offset entro i limiti validi per l'altezza corrente per garantire che il buco rimanga all'interno dello schermo
         int clampedOffset = Math.max(-maxHoleOffset, Math.min(maxHoleOffset, desiredOffset));
         
-        this.yTubeHoleCenter = screenCenter + clampedOffset;
-        
+        initTubes(x0, gameHeight, screenCenter + clampedOffset);
+	}
+	
+	private void initTubes(int x0, int gameHeight, int yTubeHoleCenter) throws IllegalStateException {
+		this.yTubeHoleCenter = yTubeHoleCenter;
+		
         int upperTubeHeight = Math.max(0, yTubeHoleCenter - DIST_Y_BETWEEN_TUBES / 2);
         int lowerTubeHeight = Math.max(0, gameHeight - upperTubeHeight - DIST_Y_BETWEEN_TUBES);
         
-        // Se l'altezza calcolata è 0, il tubo corrispondente non esiste (Optional.empty())
-        this.tubeUpOpt = upperTubeHeight > 0 ? Optional.of(new Tube(x0, 0, upperTubeHeight, true)) : Optional.empty();
-        this.tubeDownOpt = lowerTubeHeight > 0 ? Optional.of(new Tube(x0, upperTubeHeight + DIST_Y_BETWEEN_TUBES, lowerTubeHeight, false)) : Optional.empty();
-        
-        if (tubeUpOpt.isEmpty() && tubeDownOpt.isEmpty()) {
+        if (upperTubeHeight == 0 && lowerTubeHeight == 0) {
         	throw new IllegalStateException("Window Height Too Small: No Tube Can Exist (Height: " + gameHeight + ")");
         }
+        
+        // Se l'altezza calcolata è 0, il tubo corrispondente non esiste (Optional.empty())
+        tubeUp.reinitialize(x0, 0, upperTubeHeight);
+        tubeDown.reinitialize(x0, upperTubeHeight + DIST_Y_BETWEEN_TUBES, lowerTubeHeight);
+        this.tubeUpOpt = upperTubeHeight > 0 ? tubeUpPresentOpt : Optional.empty();
+        this.tubeDownOpt = lowerTubeHeight > 0 ? tubeDownPresentOpt : Optional.empty();
+        this.yHoleTop = upperTubeHeight > 0 ? upperTubeHeight : Integer.MIN_VALUE;
+        this.yHoleBottom = lowerTubeHeight > 0 ? upperTubeHeight + DIST_Y_BETWEEN_TUBES : Integer.MAX_VALUE;
 		
 		this.x = x0;
         // La y del TubePair è sempre 0, dato che i tubi partono entrambi da y=0
         this.y = 0;
 		this.w = TubePair.WIDTH;
 		this.h = gameHeight;
-		
-		updateHitBox();
+		setAlive(true);
 	}
 
 	private static int calcMaxHoleOffset(int gamePanelHeight) {
@@ -101,9 +119,9 @@ public class TubePair extends AbstractGameObject {
         return Math.min(maxOffsetByPercentage, maxOffsetByBounds);
     }
 	
-	private static int randomYTubeHoleCenter(int gameHeight) {
+	private static int randomYTubeHoleCenter(int gameHeight, Random random) {
 	    int maxHoleOffset = calcMaxHoleOffset(gameHeight);
-	    int tubeHoleOffset = RANDOM.nextInt(- maxHoleOffset, maxHoleOffset + 1);
+	    int tubeHoleOffset = random.nextInt(- maxHoleOffset, maxHoleOffset + 1);
 	    return (gameHeight / 2) + tubeHoleOffset;
 	}
 	
@@ -111,39 +129,45 @@ public class TubePair extends AbstractGameObject {
 	    return yTubeHoleCenter;
 	}
 	
+	public int getYHoleTop() {
+		return yHoleTop;
+	}
+	
+	public int getYHoleBottom() {
+		return yHoleBottom;
+	}
+	
 	@Override
 	public void setAlive(boolean alive) {
 		isAlive = alive;
-		tubeUpOpt.ifPresent(t -> t.setAlive(alive));
-		tubeDownOpt.ifPresent(t -> t.setAlive(alive));
+		tubeUp.setAlive(alive);
+		tubeDown.setAlive(alive);
 	}
 	
+	// Hitbox composta dai due tubi: il rettangolo del TubePair comprende anche il buco
 	@Override
-	public void updateHitBox() {
-		Rectangle[] hitBoxUp = tubeUpOpt.map(Tube::getHitBox).orElse(new Rectangle[0]);
-		Rectangle[] hitBoxDown = tubeDownOpt.map(Tube::getHitBox).orElse(new Rectangle[0]);
-
-		int totalLength = hitBoxUp.length + hitBoxDown.length;
-		
-		// Inizializzare l'array hitBox se non è già stato fatto o se la lunghezza è cambiata
-		if (hitBox == null || hitBox.length != totalLength) {
-			hitBox = new Rectangle[totalLength];
-		}
-
-		// Unire le hitbox dei due tubi in un unico array
-		System.arraycopy(hitBoxUp, 0, hitBox, 0, hitBoxUp.length);
-		System.arraycopy(hitBoxDown, 0, hitBox, hitBoxUp.length, hitBoxDown.length);
+	public boolean intersects(int x, int y, int w, int h) {
+		return (tubeUpOpt.isPresent() && tubeUpOpt.get().intersects(x, y, w, h))
+				|| (tubeDownOpt.isPresent() && tubeDownOpt.get().intersects(x, y, w, h));
 	}
 	
 	@Override
 	public void updateXY(double dt_s) {
-		tubeUpOpt.ifPresent(t -> t.updateXY(dt_s));
-		tubeDownOpt.ifPresent(t -> t.updateXY(dt_s));
+		// Senza lambda: nessuna allocazione per passo
+		if (tubeUpOpt.isPresent()) {
+			tubeUp.updateXY(dt_s);
+		}
+		if (tubeDownOpt.isPresent()) {
+			tubeDown.updateXY(dt_s);
+		}
 		
 		// I tubi hanno sempre la stessa x, quindi prendo quella di uno dei due
-		x = tubeUpOpt.map(t -> t.x).orElseGet(() -> tubeDownOpt.get().x);
-		
-		updateHitBox();
+		x = tubeUpOpt.isPresent() ? tubeUp.x : tubeDown.x;
+	}
+	
+	// Posizione x che il TubePair avrà dopo updateXY(dt_s)
+	public int getNextX(double dt_s) {
+		return tubeUpOpt.isPresent() ? tubeUp.getNextX(dt_s) : tubeDown.getNextX(dt_s);
 	}
 	
 	@Override
@@ -0,0 +1,32 @@
+/**
+ * @author Federico Sabbatani
+ */
+
+package flappyBirdAI.utils;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// Opzioni da riga di comando nel formato --chiave=valore, condivise dai main di addestramento, benchmark e controlli
+public final class CommandLineOptions {
+
+	// Costruttore privato per evitare l'istanziazione
+	private CommandLineOptions() {
+		throw new UnsupportedOperationException("CommandLineOptions is a utility class and cannot be instantiated.");
+	}
+
+	public static Map<String, String> parse(String[] args) throws IllegalArgumentException {
+		Map<String, String> options = new HashMap<>();
+
+		for (String arg : args) {
+			int sepIndex = arg.indexOf('=');
+			if (!arg.startsWith("--") || sepIndex < 0) {
+				throw new IllegalArgumentException("Invalid Option: " + arg + " (Expected --key=value)");
+			}
+			options.put(arg.substring(2, sepIndex), arg.substring(sepIndex + 1));
+		}
+
+		return options;
+	}
+
+}
\ No newline at end of file
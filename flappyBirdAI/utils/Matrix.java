@@ -17,6 +17,9 @@ public class Matrix implements Serializable {
 	
 	private static final long serialVersionUID = 1L;
 	
+	// Kernel SIMD o scalari, scelti una volta all'avvio
+	private static final MatrixKernels KERNELS = MatrixKernels.getInstance();
+	
 	// Factory Methods
 	
     public static Matrix identity(int size) {
@@ -36,13 +39,7 @@ public class Matrix implements Serializable {
 
     public static Matrix ones(int nRows, int nCols) {
         Matrix m = new Matrix(nRows, nCols);
-        double[] onesRow = new double[nCols];
-        Arrays.fill(onesRow, 1.0);
-        
-        for (int i = 0; i < nRows; ++i) {
-        	System.arraycopy(onesRow, 0, m.data[i], 0, nCols);
-        }
-            
+        m.fill(1.0);
         return m;
     }
 
@@ -125,7 +122,9 @@ public class Matrix implements Serializable {
         return matrix;
     }
 	
-    private final double[][] data;
+    // Storage contiguo row-major: l'elemento [i][j] è in data[i * stride + j] (stride = nCols)
+    private final double[] data;
+    private final int nRows, nCols, stride;
 
     // Constructors
     
@@ -138,17 +137,19 @@ public class Matrix implements Serializable {
 			throw new IllegalArgumentException("Number of Columns Must be Greater than Zero");
     	}
 		
-        data = new double[nRows][nCols];
+		this.nRows = nRows;
+		this.nCols = nCols;
+		this.stride = nCols;
+        data = new double[nRows * nCols];
     }
     
     public Matrix(Matrix otherMatrix) throws NullPointerException {
 		Objects.requireNonNull(otherMatrix, "Other Matrix Cannot be Null");
 		
-		data = new double[otherMatrix.getNRows()][otherMatrix.getNCols()];
-		
-		for (int i = 0; i < otherMatrix.getNRows(); ++i) {
-			System.arraycopy(otherMatrix.data[i], 0, data[i], 0, otherMatrix.getNCols());
-		}
+		nRows = otherMatrix.nRows;
+		nCols = otherMatrix.nCols;
+		stride = otherMatrix.stride;
+		data = otherMatrix.data.clone();
 	}
     
     public Matrix(double[][] dataArray) throws NullPointerException, IllegalArgumentException {
@@ -170,10 +171,13 @@ public class Matrix implements Serializable {
 			}
 		}
 		
-		data = new double[dataArray.length][nCols];
+		this.nRows = dataArray.length;
+		this.nCols = nCols;
+		this.stride = nCols;
+		data = new double[nRows * nCols];
 		
-		for (int i = 0; i < dataArray.length; ++i) {
-			System.arraycopy(dataArray[i], 0, data[i], 0, nCols);
+		for (int i = 0; i < nRows; ++i) {
+			System.arraycopy(dataArray[i], 0, data, i * stride, nCols);
 		}
 	}
     
@@ -188,12 +192,11 @@ public class Matrix implements Serializable {
             throw new IllegalArgumentException("Array Length (" + vData.length + ") Must Equal nRows * nCols (" + (nRows * nCols) + ")");
         } 
     	
-        data = new double[nRows][nCols];
-        for (int i = 0; i < nRows; ++i) {
-			for (int j = 0; j < nCols; ++j) {
-				data[i][j] = vData[i * nCols + j];
-			}
-		}
+        this.nRows = nRows;
+        this.nCols = nCols;
+        this.stride = nCols;
+        // Stesso layout row-major: copia diretta
+        data = vData.clone();
     }
     	
     // Utility Methods
@@ -209,50 +212,83 @@ public class Matrix implements Serializable {
     }
     
     public Matrix applyFunction(DoubleUnaryOperator func) throws NullPointerException {
+    	return applyFunctionInto(func, new Matrix(nRows, nCols));
+    }
+    
+    // Applica func a ogni elemento scrivendo il risultato in dst (può coincidere con this), ritorna dst
+    public Matrix applyFunctionInto(DoubleUnaryOperator func, Matrix dst) throws NullPointerException, IllegalArgumentException {
     	Objects.requireNonNull(func, "Function Cannot be Null");
+    	requireSameDimensions(dst, "Destination");
     	
-    	Matrix mResult = new Matrix(getNRows(), getNCols());
-        for (int i = 0; i < getNRows(); ++i) {
-            for (int j = 0; j < getNCols(); ++j) {
-            	mResult.set(i, j, func.applyAsDouble(get(i, j)));
-            }
-        }
-        
-        return mResult;
+    	for (int i = 0; i < nRows; ++i) {
+    		int rowBase = i * stride, dstRowBase = i * dst.stride;
+    		for (int j = 0; j < nCols; ++j) {
+    			dst.data[dstRowBase + j] = func.applyAsDouble(data[rowBase + j]);
+    		}
+    	}
+    	
+    	return dst;
+    }
+    
+    public Matrix applyInPlace(DoubleUnaryOperator func) throws NullPointerException {
+    	return applyFunctionInto(func, this);
+    }
+    
+    // Sigmoid 1 / (1 + e^-x) su ogni elemento con il kernel vettoriale (a differenza di applyInPlace con funzione generica)
+    public Matrix sigmoidInPlace() {
+    	for (int i = 0; i < nRows; ++i) {
+    		KERNELS.sigmoid(data, i * stride, nCols);
+    	}
+    	
+    	return this;
     }
     
     // Matrix Operations
     
     public Matrix transpose() {
-        Matrix mResult = new Matrix(getNCols(), getNRows());
-        for (int i = 0; i < getNRows(); ++i) {
-            for (int j = 0; j < getNCols(); ++j) {
-            	mResult.set(j, i, get(i, j));
-            }
-        }
-        
-        return mResult;
+        return transposeInto(new Matrix(nCols, nRows));
+    }
+    
+    // dst non deve coincidere con this
+    public Matrix transposeInto(Matrix dst) throws NullPointerException, IllegalArgumentException {
+    	Objects.requireNonNull(dst, "Destination Matrix Cannot be Null");
+    	if (dst.nRows != nCols || dst.nCols != nRows) {
+    		throw new IllegalArgumentException("Incompatible Destination Size for Matrix Transpose");
+    	}
+    	requireNotAliased(dst, this);
+    	
+    	for (int i = 0; i < nRows; ++i) {
+    		for (int j = 0; j < nCols; ++j) {
+    			dst.data[j * dst.stride + i] = data[i * stride + j];
+    		}
+    	}
+    	
+    	return dst;
     }
 
     public Matrix multiply(Matrix otherMatrix) throws NullPointerException, IllegalArgumentException {
     	Objects.requireNonNull(otherMatrix, "Other Matrix Cannot be Null");
     	
-    	if (getNCols() != otherMatrix.getNRows()) {
+        return multiplyInto(otherMatrix, new Matrix(nRows, otherMatrix.nCols));
+    }
+    
+    // Prodotto matriciale this * otherMatrix scritto in dst (riutilizzabile tra chiamate), ritorna dst
+    // dst non deve coincidere con nessuno degli operandi
+    public Matrix multiplyInto(Matrix otherMatrix, Matrix dst) throws NullPointerException, IllegalArgumentException {
+    	Objects.requireNonNull(otherMatrix, "Other Matrix Cannot be Null");
+    	Objects.requireNonNull(dst, "Destination Matrix Cannot be Null");
+    	
+    	if (nCols != otherMatrix.nRows) {
             throw new IllegalArgumentException("Incompatible Matrix Sizes for Matrix Multiplication");
         }
-
-        Matrix mResult = new Matrix(getNRows(), otherMatrix.getNCols());
-        for (int i = 0; i < getNRows(); ++i) {
-            for (int j = 0; j < otherMatrix.getNCols(); ++j) {
-                double sum = 0;
-                for (int k = 0; k < getNCols(); ++k) {
-                    sum += get(i, k) * otherMatrix.get(k, j);
-                }
-                mResult.set(i, j, sum);
-            }
-        }
-
-        return mResult;
+    	if (dst.nRows != nRows || dst.nCols != otherMatrix.nCols) {
+    		throw new IllegalArgumentException("Incompatible Destination Size for Matrix Multiplication");
+    	}
+    	requireNotAliased(dst, this);
+    	requireNotAliased(dst, otherMatrix);
+    	
+    	KERNELS.multiply(data, stride, otherMatrix.data, otherMatrix.stride, dst.data, dst.stride, nRows, nCols, otherMatrix.nCols);
+        return dst;
     }
     
     public Matrix divide(Matrix otherMatrix) throws NullPointerException, IllegalArgumentException, ArithmeticException {
@@ -277,56 +313,62 @@ public class Matrix implements Serializable {
     }
     
     public Matrix add(Matrix otherMatrix) throws NullPointerException, IllegalArgumentException {
-    	Objects.requireNonNull(otherMatrix, "Other Matrix Cannot be Null");
-    	
-    	if (!checkDimensions(otherMatrix)) {
-			throw new IllegalArgumentException("Incompatible Matrix Sizes for Matrix Addition");
-		}
-
-		Matrix mResult = new Matrix(getNRows(), getNCols());
-		for (int i = 0; i < getNRows(); ++i) {
-			for (int j = 0; j < getNCols(); ++j) {
-				mResult.set(i, j, get(i, j) + otherMatrix.get(i, j));
-			}
-		}
-
-		return mResult;
+    	return axpyInto(1.0, otherMatrix, new Matrix(nRows, nCols), "Addition");
 	}
     
+    public Matrix addInPlace(Matrix otherMatrix) throws NullPointerException, IllegalArgumentException {
+    	return axpyInto(1.0, otherMatrix, this, "Addition");
+    }
+    
     public Matrix subtract(Matrix otherMatrix) throws NullPointerException, IllegalArgumentException {
+    	return axpyInto(-1.0, otherMatrix, new Matrix(nRows, nCols), "Subtraction");
+    }
+    
+    public Matrix subtractInPlace(Matrix otherMatrix) throws NullPointerException, IllegalArgumentException {
+    	return axpyInto(-1.0, otherMatrix, this, "Subtraction");
+    }
+    
+    // this += alpha * otherMatrix (stile BLAS axpy), ritorna this
+    public Matrix axpy(double alpha, Matrix otherMatrix) throws NullPointerException, IllegalArgumentException {
+    	return axpyInto(alpha, otherMatrix, this, "Axpy");
+    }
+    
+    // dst = this + alpha * otherMatrix, dst può coincidere con this o otherMatrix
+    private Matrix axpyInto(double alpha, Matrix otherMatrix, Matrix dst, String opName) throws NullPointerException, IllegalArgumentException {
     	Objects.requireNonNull(otherMatrix, "Other Matrix Cannot be Null");
     	
     	if (!checkDimensions(otherMatrix)) {
-			throw new IllegalArgumentException("Incompatible Matrix Sizes for Matrix Subtraction");
+			throw new IllegalArgumentException("Incompatible Matrix Sizes for Matrix " + opName);
 		}
-
-		Matrix mResult = new Matrix(getNRows(), getNCols());
-		for (int i = 0; i < getNRows(); ++i) {
-			for (int j = 0; j < getNCols(); ++j) {
-				mResult.set(i, j, get(i, j) - otherMatrix.get(i, j));
-			}
-		}
-
-		return mResult;
+    	requireSameDimensions(dst, "Destination");
+    	
+    	for (int i = 0; i < nRows; ++i) {
+    		KERNELS.axpy(data, i * stride, alpha, otherMatrix.data, i * otherMatrix.stride, dst.data, i * dst.stride, nCols);
+    	}
+    	
+    	return dst;
     }
     
     // Element-wise Operations
     
     public Matrix elementWiseMultiply(Matrix otherMatrix) throws NullPointerException, IllegalArgumentException {
+    	return elementWiseMultiplyInto(otherMatrix, new Matrix(nRows, nCols));
+    }
+    
+    // dst può coincidere con uno degli operandi
+    public Matrix elementWiseMultiplyInto(Matrix otherMatrix, Matrix dst) throws NullPointerException, IllegalArgumentException {
     	Objects.requireNonNull(otherMatrix, "Other Matrix Cannot be Null");
     	
     	if (!checkDimensions(otherMatrix)) {
 			throw new IllegalArgumentException("Incompatible Matrix Sizes for Matrix Element Wise Multiplication");
 		}
+    	requireSameDimensions(dst, "Destination");
 
-		Matrix mResult = new Matrix(getNRows(), getNCols());
-		for (int i = 0; i < getNRows(); ++i) {
-			for (int j = 0; j < getNCols(); ++j) {
-				mResult.set(i, j, get(i, j) * otherMatrix.get(i, j));
-			}
-		}
+    	for (int i = 0; i < nRows; ++i) {
+    		KERNELS.multiply(data, i * stride, otherMatrix.data, i * otherMatrix.stride, dst.data, i * dst.stride, nCols);
+    	}
 
-		return mResult;
+		return dst;
     }
     
     public Matrix pow(double exp) {
@@ -342,7 +384,15 @@ public class Matrix implements Serializable {
 	}
     
     public Matrix multiplyByScalar(double scalar) {
-        return applyFunction(x -> x * scalar);
+        return new Matrix(this).multiplyByScalarInPlace(scalar);
+    }
+    
+    public Matrix multiplyByScalarInPlace(double scalar) {
+    	for (int i = 0; i < nRows; ++i) {
+    		KERNELS.scale(data, i * stride, scalar, nCols);
+    	}
+    	
+    	return this;
     }
 
     public Matrix divideByScalar(double scalar) throws ArithmeticException {
@@ -356,19 +406,71 @@ public class Matrix implements Serializable {
     // Accessors
 
     public int getNRows() {
-        return data.length;
+        return nRows;
     }
 
     public int getNCols() {
-        return data[0].length;
+        return nCols;
     }
 
-    public double get(int row, int col) {
-        return data[row][col];
+    public double get(int row, int col) throws IndexOutOfBoundsException {
+        return data[Objects.checkIndex(row, nRows) * stride + Objects.checkIndex(col, nCols)];
     }
 
-    public void set(int row, int col, double value) {
-        data[row][col] = value;
+    public void set(int row, int col, double value) throws IndexOutOfBoundsException {
+        data[Objects.checkIndex(row, nRows) * stride + Objects.checkIndex(col, nCols)] = value;
+    }
+    
+    public Matrix fill(double value) {
+    	Arrays.fill(data, value);
+    	return this;
+    }
+    
+    // Copia i valori di otherMatrix (stesse dimensioni) in this senza allocare, ritorna this
+    public Matrix copyFrom(Matrix otherMatrix) throws NullPointerException, IllegalArgumentException {
+    	Objects.requireNonNull(otherMatrix, "Other Matrix Cannot be Null");
+    	requireSameDimensions(otherMatrix, "Source");
+    	
+    	for (int i = 0; i < nRows; ++i) {
+    		System.arraycopy(otherMatrix.data, i * otherMatrix.stride, data, i * stride, nCols);
+    	}
+    	
+    	return this;
+    }
+    
+    // Copia gli elementi in ordine row-major da src a partire da srcIndex, ritorna this
+    public Matrix copyFrom(double[] src, int srcIndex) throws NullPointerException, IndexOutOfBoundsException {
+    	Objects.requireNonNull(src, "Source Array Cannot be Null");
+    	Objects.checkFromIndexSize(srcIndex, nRows * nCols, src.length);
+    	
+    	for (int i = 0; i < nRows; ++i) {
+    		System.arraycopy(src, srcIndex + i * nCols, data, i * stride, nCols);
+    	}
+    	
+    	return this;
+    }
+    
+    // Copia gli elementi in ordine row-major in dst a partire da dstIndex
+    public void copyTo(double[] dst, int dstIndex) throws NullPointerException, IndexOutOfBoundsException {
+    	Objects.requireNonNull(dst, "Destination Array Cannot be Null");
+    	Objects.checkFromIndexSize(dstIndex, nRows * nCols, dst.length);
+    	
+    	for (int i = 0; i < nRows; ++i) {
+    		System.arraycopy(data, i * stride, dst, dstIndex + i * nCols, nCols);
+    	}
+    }
+    
+    private void requireSameDimensions(Matrix otherMatrix, String role) throws NullPointerException, IllegalArgumentException {
+    	Objects.requireNonNull(otherMatrix, role + " Matrix Cannot be Null");
+    	if (!checkDimensions(otherMatrix)) {
+    		throw new IllegalArgumentException(role + " Matrix Size (" + otherMatrix.nRows + "x" + otherMatrix.nCols + ") Must Match (" + nRows + "x" + nCols + ")");
+    	}
+    }
+    
+    private static void requireNotAliased(Matrix dst, Matrix operand) throws IllegalArgumentException {
+    	if (dst.data == operand.data) {
+    		throw new IllegalArgumentException("Destination Matrix Cannot be an Operand of this Operation");
+    	}
     }
     
     // Ritorna una copia della riga per evitare modifiche esterne
@@ -377,8 +479,8 @@ public class Matrix implements Serializable {
             throw new IndexOutOfBoundsException("Row Index " + rowIndex + " Out of Bounds [0, " + (getNRows() - 1) + "]");
         }
     	
-    	double[] rowCopy = new double[getNCols()];
-    	System.arraycopy(data[rowIndex], 0, rowCopy, 0, getNCols());
+    	double[] rowCopy = new double[nCols];
+    	System.arraycopy(data, rowIndex * stride, rowCopy, 0, nCols);
     	return rowCopy;
     }
     
@@ -393,7 +495,7 @@ public class Matrix implements Serializable {
 			throw new IllegalArgumentException("Array Length (" + newRow.length + ") Must Match Number of Columns (" + getNCols() + ")");
 		}
 		
-		System.arraycopy(newRow, 0, data[rowIndex], 0, getNCols());
+		System.arraycopy(newRow, 0, data, rowIndex * stride, nCols);
     }
     
     // Ritorna una copia della colonna per evitare modifiche esterne
@@ -431,22 +533,16 @@ public class Matrix implements Serializable {
     public double[][] getDataCopy() {
 		double[][] dataCopyArray = new double[getNRows()][getNCols()];
 		
-		for (int i = 0; i < getNRows(); ++i) {
-			System.arraycopy(data[i], 0, dataCopyArray[i], 0, getNCols());
+		for (int i = 0; i < nRows; ++i) {
+			System.arraycopy(data, i * stride, dataCopyArray[i], 0, nCols);
 		}
 		
 		return dataCopyArray;
 	}
     
     public double[] toArray() {
-		double[] dataArray = new double[getNRows() * getNCols()];
-		
-		for (int dataArrayIndex = 0, i = 0; i < getNRows(); ++i) {
-			for (int j = 0; j < getNCols(); ++j) {
-				dataArray[dataArrayIndex++] = get(i, j);
-			}
-		}
-		
+		double[] dataArray = new double[nRows * nCols];
+		copyTo(dataArray, 0);
 		return dataArray;
 	}
     
@@ -488,7 +584,14 @@ public class Matrix implements Serializable {
 	public int hashCode() {
 		final int prime = 31;
 		int result = 1;
-		result = prime * result + Arrays.deepHashCode(data);
+		result = prime * result + nRows;
+		result = prime * result + nCols;
+		for (int i = 0; i < nRows; ++i) {
+			for (int j = 0; j < nCols; ++j) {
+				long bits = Double.doubleToLongBits(data[i * stride + j]);
+				result = prime * result + (int) (bits ^ (bits >>> 32));
+			}
+		}
 		return result;
 	}
 
@@ -505,7 +608,16 @@ public class Matrix implements Serializable {
 		}
 		
 		Matrix other = (Matrix) obj;
-		return Arrays.deepEquals(data, other.data);
+		if (nRows != other.nRows || nCols != other.nCols) {
+			return false;
+		}
+		
+		for (int i = 0; i < nRows; ++i) {
+			if (!Arrays.equals(data, i * stride, i * stride + nCols, other.data, i * other.stride, i * other.stride + nCols)) {
+				return false;
+			}
+		}
+		return true;
 	}
 	
 	public JsonObject toJson() {
@@ -0,0 +1,73 @@
+/**
+ * @author Federico Sabbatani
+ */
+
+package flappyBirdAI.utils;
+
+// Kernel numerici su array primitivi usati da Matrix e dall'inferenza a blocchi
+// L'implementazione è scelta una sola volta all'avvio: Vector API (SIMD) se il modulo jdk.incubator.vector è presente, altrimenti scalare
+// Tutti i kernel tranne sigmoid() producono risultati identici bit a bit in entrambe le implementazioni (stesso ordine delle operazioni, niente FMA)
+// L'equivalenza è verificata da MatrixKernelsCheck
+// Compilazione: VectorMatrixKernels è nella radice sorgente separata vector/, l'unica che richiede il modulo incubator
+//   javac -cp gson.jar -d out $(find flappyBirdAI -name '*.java')
+//   javac --add-modules jdk.incubator.vector -cp out -d out $(find vector -name '*.java')   (opzionale, kernel SIMD)
+// Esecuzione con i kernel SIMD: java --add-modules jdk.incubator.vector ... (senza il modulo o senza la classe si usa ScalarMatrixKernels)
+public interface MatrixKernels {
+	
+	// Proprietà di sistema per forzare l'implementazione: "scalar" o "vector"
+	String KERNELS_PROPERTY = "flappyBirdAI.kernels";
+	
+	static MatrixKernels getInstance() {
+		return Holder.INSTANCE;
+	}
+	
+	String getName();
+	
+	// c[i][j] = somma su k crescente di a[i][k] * b[k][j], con a (nRows x nInner), b (nInner x nCols) e c (nRows x nCols) row-major
+	void multiply(double[] a, int aStride, double[] b, int bStride, double[] c, int cStride, int nRows, int nInner, int nCols);
+	
+	// dst[i] = a[i] + alpha * b[i] per len elementi
+	void axpy(double[] a, int aOffset, double alpha, double[] b, int bOffset, double[] dst, int dstOffset, int len);
+	
+	// dst[i] = a[i] * b[i] per len elementi
+	void multiply(double[] a, int aOffset, double[] b, int bOffset, double[] dst, int dstOffset, int len);
+	
+	// acc[i] += a[i] * b[i] per len elementi
+	void multiplyAdd(double[] a, int aOffset, double[] b, int bOffset, double[] acc, int accOffset, int len);
+	
+	// a[i] *= scalar per len elementi
+	void scale(double[] a, int offset, double scalar, int len);
+	
+	// dst[i] = a[i] + alpha * (b[i] - a[i]) per len elementi (interpolazione lineare)
+	void blend(double[] a, int aOffset, double[] b, int bOffset, double alpha, double[] dst, int dstOffset, int len);
+	
+	// dst[i] = bit i di bits a 1 ? b[i] : a[i] per len elementi (len <= 64)
+	void select(double[] a, int aOffset, double[] b, int bOffset, long bits, double[] dst, int dstOffset, int len);
+	
+	// a[i] = 1 / (1 + e^-a[i]) per len elementi
+	// Nella versione SIMD l'esponenziale vettoriale può differire da Math.exp di qualche ulp
+	void sigmoid(double[] a, int offset, int len);
+	
+	final class Holder {
+		
+		private static final MatrixKernels INSTANCE = select();
+		
+		private Holder() {}
+		
+		private static MatrixKernels select() {
+			String requested = System.getProperty(KERNELS_PROPERTY, "vector");
+			
+			if (!requested.equals("scalar") && ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+				try {
+					// Caricamento riflessivo: la classe SIMD non deve essere risolta se il modulo incubator manca a runtime
+					return (MatrixKernels) Class.forName("flappyBirdAI.utils.VectorMatrixKernels").getDeclaredConstructor().newInstance();
+				} catch (ReflectiveOperationException | LinkageError _) {
+					// Fallback scalare
+				}
+			}
+			
+			return new ScalarMatrixKernels();
+		}
+	}
+	
+}
\ No newline at end of file
@@ -0,0 +1,165 @@
+/**
+ * @author Federico Sabbatani
+ */
+
+package flappyBirdAI.utils;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+// Controllo di equivalenza tra VectorMatrixKernels e ScalarMatrixKernels: esce con codice 1 se un kernel differisce oltre la tolleranza
+// Uso: java --add-modules jdk.incubator.vector flappyBirdAI.utils.MatrixKernelsCheck --trials=20000 --seed=1 --maxSigmoidUlps=8
+// Forme, offset e lunghezze casuali (anche più corte di un vettore, per i cicli di coda); i buffer di uscita partono dagli stessi valori casuali,
+// così una scrittura fuori dall'intervallo richiesto è una differenza
+// Tutti i kernel devono coincidere bit a bit, tranne sigmoid() che ammette maxSigmoidUlps ulp (esponenziale vettoriale)
+public final class MatrixKernelsCheck {
+
+	// Abbastanza prove da confrontare i kernel compilati dal JIT: interpretata, l'esponenziale vettoriale ricade su Math.exp
+	private static final int DEFAULT_N_TRIALS = 20_000;
+	// Massimo misurato: 4 ulp su 200000 prove, con vettori da 4 e da 8 double
+	// È anche la differenza tra BrainTopology.evaluate() e BatchBrainEvaluator: gli strati più stretti di un vettore passano dalla coda scalare
+	private static final double DEFAULT_MAX_SIGMOID_ULPS = 8;
+	// Dimensioni massime di matrici e vettori, più grandi di un vettore AVX-512 (8 double) per coprire corpo e coda dei cicli
+	private static final int MAX_MATRIX_SIZE = 24, MAX_LEN = 100, MAX_OFFSET = 7;
+
+	// Costruttore privato per evitare l'istanziazione
+	private MatrixKernelsCheck() {
+		throw new UnsupportedOperationException("MatrixKernelsCheck is a utility class and cannot be instantiated.");
+	}
+
+	public static void main(String[] args) {
+		Map<String, String> options = CommandLineOptions.parse(args);
+
+		int nTrials = Integer.parseInt(options.getOrDefault("trials", String.valueOf(DEFAULT_N_TRIALS)));
+		long seed = Long.parseLong(options.getOrDefault("seed", "1"));
+		double maxSigmoidUlps = Double.parseDouble(options.getOrDefault("maxSigmoidUlps", String.valueOf(DEFAULT_MAX_SIGMOID_ULPS)));
+
+		MatrixKernels scalar = new ScalarMatrixKernels(), vector;
+		try {
+			vector = (MatrixKernels) Class.forName("flappyBirdAI.utils.VectorMatrixKernels").getDeclaredConstructor().newInstance();
+		} catch (ReflectiveOperationException | LinkageError ex) {
+			System.err.println("Vector Kernels Not Available (Compile the vector/ Source Root and Run with --add-modules jdk.incubator.vector): " + ex);
+			System.exit(1);
+			return;
+		}
+
+		Map<String, Integer> mismatches = new LinkedHashMap<>();
+		Random random = new Random(seed);
+		double sigmoidMaxUlps = 0;
+
+		for (int t = 0; t < nTrials; ++t) {
+			checkMatrixMultiply(scalar, vector, random, mismatches);
+			checkElementWise(scalar, vector, random, mismatches);
+			sigmoidMaxUlps = Math.max(sigmoidMaxUlps, measureSigmoidUlps(scalar, vector, random));
+		}
+
+		boolean isSigmoidOk = sigmoidMaxUlps <= maxSigmoidUlps;
+		int nMismatches = mismatches.values().stream().mapToInt(Integer::intValue).sum();
+		System.out.println(String.join(" - ",
+				"Kernels: " + scalar.getName() + " vs " + vector.getName(),
+				"Trials: " + nTrials,
+				"Exact Mismatches: " + nMismatches + (nMismatches == 0 ? "" : " " + mismatches),
+				"Sigmoid Max Ulps: " + sigmoidMaxUlps + " (Max " + maxSigmoidUlps + ")"));
+
+		if (nMismatches > 0 || !isSigmoidOk) {
+			System.err.println("KERNELS NOT EQUIVALENT!");
+			System.exit(1);
+		}
+		System.out.println("Kernels Equivalent");
+	}
+
+	// multiply() su matrici con stride più larghi delle colonne logiche
+	private static void checkMatrixMultiply(MatrixKernels scalar, MatrixKernels vector, Random random, Map<String, Integer> mismatches) {
+		int nRows = 1 + random.nextInt(MAX_MATRIX_SIZE), nInner = 1 + random.nextInt(MAX_MATRIX_SIZE), nCols = 1 + random.nextInt(MAX_MATRIX_SIZE);
+		int aStride = nInner + random.nextInt(MAX_OFFSET + 1), bStride = nCols + random.nextInt(MAX_OFFSET + 1), cStride = nCols + random.nextInt(MAX_OFFSET + 1);
+
+		double[] a = randomArray(nRows * aStride, random), b = randomArray(nInner * bStride, random);
+		double[] cScalar = randomArray(nRows * cStride, random), cVector = cScalar.clone();
+
+		scalar.multiply(a, aStride, b, bStride, cScalar, cStride, nRows, nInner, nCols);
+		vector.multiply(a, aStride, b, bStride, cVector, cStride, nRows, nInner, nCols);
+		count(mismatches, "multiply (matrix)", cScalar, cVector);
+	}
+
+	// Kernel elemento per elemento con offset diversi per ogni array
+	private static void checkElementWise(MatrixKernels scalar, MatrixKernels vector, Random random, Map<String, Integer> mismatches) {
+		int len = 1 + random.nextInt(MAX_LEN);
+		int aOffset = random.nextInt(MAX_OFFSET + 1), bOffset = random.nextInt(MAX_OFFSET + 1), dstOffset = random.nextInt(MAX_OFFSET + 1);
+		int size = len + MAX_OFFSET;
+		double[] a = randomArray(size, random), b = randomArray(size, random), dst = randomArray(size, random);
+		double alpha = random.nextGaussian(), blendAlpha = random.nextDouble();
+
+		double[] dstScalar = dst.clone(), dstVector = dst.clone();
+		scalar.axpy(a, aOffset, alpha, b, bOffset, dstScalar, dstOffset, len);
+		vector.axpy(a, aOffset, alpha, b, bOffset, dstVector, dstOffset, len);
+		count(mismatches, "axpy", dstScalar, dstVector);
+
+		dstScalar = dst.clone();
+		dstVector = dst.clone();
+		scalar.multiply(a, aOffset, b, bOffset, dstScalar, dstOffset, len);
+		vector.multiply(a, aOffset, b, bOffset, dstVector, dstOffset, len);
+		count(mismatches, "multiply (element-wise)", dstScalar, dstVector);
+
+		dstScalar = dst.clone();
+		dstVector = dst.clone();
+		scalar.multiplyAdd(a, aOffset, b, bOffset, dstScalar, dstOffset, len);
+		vector.multiplyAdd(a, aOffset, b, bOffset, dstVector, dstOffset, len);
+		count(mismatches, "multiplyAdd", dstScalar, dstVector);
+
+		dstScalar = dst.clone();
+		dstVector = dst.clone();
+		scalar.scale(dstScalar, dstOffset, alpha, len);
+		vector.scale(dstVector, dstOffset, alpha, len);
+		count(mismatches, "scale", dstScalar, dstVector);
+
+		dstScalar = dst.clone();
+		dstVector = dst.clone();
+		scalar.blend(a, aOffset, b, bOffset, blendAlpha, dstScalar, dstOffset, len);
+		vector.blend(a, aOffset, b, bOffset, blendAlpha, dstVector, dstOffset, len);
+		count(mismatches, "blend", dstScalar, dstVector);
+
+		int selectLen = Math.min(len, Long.SIZE);
+		long bits = random.nextLong();
+		dstScalar = dst.clone();
+		dstVector = dst.clone();
+		scalar.select(a, aOffset, b, bOffset, bits, dstScalar, dstOffset, selectLen);
+		vector.select(a, aOffset, b, bOffset, bits, dstVector, dstOffset, selectLen);
+		count(mismatches, "select", dstScalar, dstVector);
+	}
+
+	// Massima differenza in ulp di sigmoid() su valori fino a ±40 (uscite vicine a 0 e a 1 comprese)
+	private static double measureSigmoidUlps(MatrixKernels scalar, MatrixKernels vector, Random random) {
+		int len = 1 + random.nextInt(MAX_LEN), offset = random.nextInt(MAX_OFFSET + 1);
+		double[] a = new double[offset + len];
+		for (int i = 0; i < a.length; ++i) {
+			a[i] = random.nextDouble(-40, 40);
+		}
+
+		double[] aScalar = a.clone(), aVector = a.clone();
+		scalar.sigmoid(aScalar, offset, len);
+		vector.sigmoid(aVector, offset, len);
+
+		double maxUlps = 0;
+		for (int i = 0; i < a.length; ++i) {
+			maxUlps = Math.max(maxUlps, Math.abs(aScalar[i] - aVector[i]) / Math.ulp(aScalar[i]));
+		}
+		return maxUlps;
+	}
+
+	private static double[] randomArray(int size, Random random) {
+		double[] v = new double[size];
+		for (int i = 0; i < size; ++i) {
+			v[i] = random.nextGaussian() * 10;
+		}
+		return v;
+	}
+
+	private static void count(Map<String, Integer> mismatches, String kernel, double[] expected, double[] actual) {
+		if (!Arrays.equals(expected, actual)) {
+			mismatches.merge(kernel, 1, Integer::sum);
+		}
+	}
+
+}
\ No newline at end of file
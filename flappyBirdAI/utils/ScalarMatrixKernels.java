@@ -0,0 +1,80 @@
+/**
+ * @author Federico Sabbatani
+ */
+
+package flappyBirdAI.utils;
+
+// Implementazione scalare di riferimento, usata quando la Vector API non è disponibile
+final class ScalarMatrixKernels implements MatrixKernels {
+	
+	@Override
+	public String getName() {
+		return "Scalar";
+	}
+
+	@Override
+	public void multiply(double[] a, int aStride, double[] b, int bStride, double[] c, int cStride, int nRows, int nInner, int nCols) {
+		double sum;
+		
+		for (int i = 0; i < nRows; ++i) {
+			int aRowBase = i * aStride, cRowBase = i * cStride;
+			for (int j = 0; j < nCols; ++j) {
+				sum = 0;
+				for (int k = 0; k < nInner; ++k) {
+					sum += a[aRowBase + k] * b[k * bStride + j];
+				}
+				c[cRowBase + j] = sum;
+			}
+		}
+	}
+
+	@Override
+	public void axpy(double[] a, int aOffset, double alpha, double[] b, int bOffset, double[] dst, int dstOffset, int len) {
+		for (int i = 0; i < len; ++i) {
+			dst[dstOffset + i] = a[aOffset + i] + alpha * b[bOffset + i];
+		}
+	}
+
+	@Override
+	public void multiply(double[] a, int aOffset, double[] b, int bOffset, double[] dst, int dstOffset, int len) {
+		for (int i = 0; i < len; ++i) {
+			dst[dstOffset + i] = a[aOffset + i] * b[bOffset + i];
+		}
+	}
+
+	@Override
+	public void multiplyAdd(double[] a, int aOffset, double[] b, int bOffset, double[] acc, int accOffset, int len) {
+		for (int i = 0; i < len; ++i) {
+			acc[accOffset + i] += a[aOffset + i] * b[bOffset + i];
+		}
+	}
+
+	@Override
+	public void scale(double[] a, int offset, double scalar, int len) {
+		for (int i = offset; i < offset + len; ++i) {
+			a[i] *= scalar;
+		}
+	}
+
+	@Override
+	public void blend(double[] a, int aOffset, double[] b, int bOffset, double alpha, double[] dst, int dstOffset, int len) {
+		for (int i = 0; i < len; ++i) {
+			dst[dstOffset + i] = a[aOffset + i] + alpha * (b[bOffset + i] - a[aOffset + i]);
+		}
+	}
+
+	@Override
+	public void select(double[] a, int aOffset, double[] b, int bOffset, long bits, double[] dst, int dstOffset, int len) {
+		for (int i = 0; i < len; ++i) {
+			dst[dstOffset + i] = (bits & (1L << i)) != 0 ? b[bOffset + i] : a[aOffset + i];
+		}
+	}
+
+	@Override
+	public void sigmoid(double[] a, int offset, int len) {
+		for (int i = offset; i < offset + len; ++i) {
+			a[i] = 1 / (1 + Math.exp(-a[i]));
+		}
+	}
+
+}
\ No newline at end of file
@@ -6,6 +6,7 @@ package flappyBirdAI.view;
 
 import flappyBirdAI.controller.GameController;
 import flappyBirdAI.controller.GameStats;
+import flappyBirdAI.controller.GameWorld;
 import flappyBirdAI.model.AbstractGameObject;
 import java.awt.GraphicsEnvironment;
 import java.awt.Rectangle;
@@ -21,14 +22,14 @@ public interface GameView {
 	public static final int AUTO_SAVE_SUCCESS_DISPLAY_MS = 1250;
     
     // Panel Minimum Dimensions Constants
-	public static final int MIN_STATS_PANEL_WIDTH = 1000;
+	public static final int MIN_GAME_PANEL_WIDTH = GameWorld.MIN_GAME_WIDTH;
+	public static final int MIN_GAME_PANEL_HEIGHT = GameWorld.MIN_GAME_HEIGHT;
+	public static final int MIN_STATS_PANEL_WIDTH = MIN_GAME_PANEL_WIDTH;
 	public static final int MIN_STATS_PANEL_HEIGHT = 40;
 	public static final int MIN_CONTROLS_PANEL_HEIGHT = 150;
 	public static final int MIN_IMPORT_EXPORT_PANEL_WIDTH = 250;
 	public static final int MIN_CHRONOMETER_PANEL_WIDTH = MIN_IMPORT_EXPORT_PANEL_WIDTH;
 	public static final int MIN_CHRONOMETER_PANEL_HEIGHT = MIN_CONTROLS_PANEL_HEIGHT;
-	public static final int MIN_GAME_PANEL_WIDTH = MIN_STATS_PANEL_WIDTH;
-	public static final int MIN_GAME_PANEL_HEIGHT = 500;
 	public static final int MIN_IMPORT_EXPORT_PANEL_HEIGHT = MIN_GAME_PANEL_HEIGHT + MIN_STATS_PANEL_HEIGHT;
 	public static final int MIN_WINDOW_WIDTH = MIN_STATS_PANEL_WIDTH + MIN_IMPORT_EXPORT_PANEL_WIDTH;
 	public static final int MIN_WINDOW_HEIGHT = MIN_GAME_PANEL_HEIGHT + MIN_STATS_PANEL_HEIGHT + MIN_CONTROLS_PANEL_HEIGHT;
@@ -11,7 +11,6 @@ import flappyBirdAI.view.GameRenderer;
 import java.awt.Color;
 import java.awt.Graphics2D;
 import java.awt.Image;
-import java.awt.Shape;
 import java.io.IOException;
 import java.net.URL;
 import java.util.HashMap;
@@ -37,10 +36,9 @@ public class SwingGameRenderer implements GameRenderer<Graphics2D> {
         	// Disegna l'immagine scalata alle dimensioni dell'oggetto
             g2d.drawImage(frame, gameObj.x, gameObj.y, gameObj.w, gameObj.h, null);
         } else {
+            // Hitbox: il rettangolo del componente
             g2d.setColor(Color.red);
-            for (Shape box : obj.getHitBox()) {
-                g2d.draw(box);
-            }
+            g2d.drawRect(obj.getX(), obj.getY(), obj.getW(), obj.getH());
         }
     }
 	
@@ -16,6 +16,7 @@ import java.io.File;
 import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
 import java.nio.file.Path;
+import java.util.Hashtable;
 import java.util.Set;
 import java.util.Objects;
 import java.util.function.Consumer;
@@ -625,12 +626,16 @@ public class SwingGameView extends JFrame implements GameView, KeyListener {
 	}
 	
 	private JSlider createVelocitySlider() {
-		JSlider sl = new JSlider(JSlider.HORIZONTAL, 1, 15, 1);
+		JSlider sl = new JSlider(JSlider.HORIZONTAL, GameClock.MIN_DT_MULTIPLIER, GameClock.MAX_DT_MULTIPLIER, GameClock.MIN_DT_MULTIPLIER);
         sl.setPaintTicks(true);
         sl.setPaintLabels(true);
         sl.setSnapToTicks(true);
 		sl.setMinorTickSpacing(1);
-        sl.setMajorTickSpacing(1);
+        sl.setMajorTickSpacing(10);
+        // Etichette a 1x e ogni 10x (la simulazione a passi fissi rende sicuri anche i moltiplicatori alti)
+        Hashtable<Integer, JComponent> labelTable = sl.createStandardLabels(10, 10);
+        labelTable.put(GameClock.MIN_DT_MULTIPLIER, new JLabel(String.valueOf(GameClock.MIN_DT_MULTIPLIER)));
+        sl.setLabelTable(labelTable);
 		sl.setBackground(CONTROLS_BACKGROUND_COLOR);
 		sl.addChangeListener(_ -> handleVelocitySliderChange());
 
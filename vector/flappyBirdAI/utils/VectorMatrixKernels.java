@@ -0,0 +1,170 @@
+/**
+ * @author Federico Sabbatani
+ */
+
+package flappyBirdAI.utils;
+
+import java.util.Arrays;
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+// Implementazione SIMD con la Vector API (AVX2: 4 double per vettore, AVX-512: 8), con coda scalare
+// Richiede --add-modules jdk.incubator.vector in compilazione ed esecuzione, istanziata solo tramite MatrixKernels.getInstance()
+// Radice sorgente separata (vector/): il resto del progetto compila senza il modulo incubator, vedi MatrixKernels
+final class VectorMatrixKernels implements MatrixKernels {
+	
+	private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+	private static final int LANES = SPECIES.length();
+	private static final DoubleVector ONE = DoubleVector.broadcast(SPECIES, 1.0);
+	
+	private final ScalarMatrixKernels scalar = new ScalarMatrixKernels();
+	
+	@Override
+	public String getName() {
+		return "Vector (" + LANES + " x double)";
+	}
+
+	@Override
+	public void multiply(double[] a, int aStride, double[] b, int bStride, double[] c, int cStride, int nRows, int nInner, int nCols) {
+		// Vettorizzazione sulle colonne di c: con meno colonne dei lane (es. vettori colonna) il kernel scalare è più veloce
+		if (nCols < LANES) {
+			scalar.multiply(a, aStride, b, bStride, c, cStride, nRows, nInner, nCols);
+			return;
+		}
+		
+		int upperBound = SPECIES.loopBound(nCols);
+		
+		for (int i = 0; i < nRows; ++i) {
+			int aRowBase = i * aStride, cRowBase = i * cStride;
+			
+			Arrays.fill(c, cRowBase, cRowBase + nCols, 0.0);
+			
+			// Stesso ordine delle somme del kernel scalare (k crescente a partire da 0) per risultati identici
+			for (int k = 0; k < nInner; ++k) {
+				double aik = a[aRowBase + k];
+				DoubleVector vaik = DoubleVector.broadcast(SPECIES, aik);
+				int bRowBase = k * bStride;
+				int j = 0;
+				
+				for (; j < upperBound; j += LANES) {
+					DoubleVector vb = DoubleVector.fromArray(SPECIES, b, bRowBase + j);
+					DoubleVector vc = DoubleVector.fromArray(SPECIES, c, cRowBase + j);
+					vc.add(vaik.mul(vb)).intoArray(c, cRowBase + j);
+				}
+				for (; j < nCols; ++j) {
+					c[cRowBase + j] += aik * b[bRowBase + j];
+				}
+			}
+		}
+	}
+
+	@Override
+	public void axpy(double[] a, int aOffset, double alpha, double[] b, int bOffset, double[] dst, int dstOffset, int len) {
+		DoubleVector valpha = DoubleVector.broadcast(SPECIES, alpha);
+		int upperBound = SPECIES.loopBound(len);
+		int i = 0;
+		
+		for (; i < upperBound; i += LANES) {
+			DoubleVector va = DoubleVector.fromArray(SPECIES, a, aOffset + i);
+			DoubleVector vb = DoubleVector.fromArray(SPECIES, b, bOffset + i);
+			va.add(valpha.mul(vb)).intoArray(dst, dstOffset + i);
+		}
+		for (; i < len; ++i) {
+			dst[dstOffset + i] = a[aOffset + i] + alpha * b[bOffset + i];
+		}
+	}
+
+	@Override
+	public void multiply(double[] a, int aOffset, double[] b, int bOffset, double[] dst, int dstOffset, int len) {
+		int upperBound = SPECIES.loopBound(len);
+		int i = 0;
+		
+		for (; i < upperBound; i += LANES) {
+			DoubleVector va = DoubleVector.fromArray(SPECIES, a, aOffset + i);
+			DoubleVector vb = DoubleVector.fromArray(SPECIES, b, bOffset + i);
+			va.mul(vb).intoArray(dst, dstOffset + i);
+		}
+		for (; i < len; ++i) {
+			dst[dstOffset + i] = a[aOffset + i] * b[bOffset + i];
+		}
+	}
+
+	@Override
+	public void multiplyAdd(double[] a, int aOffset, double[] b, int bOffset, double[] acc, int accOffset, int len) {
+		int upperBound = SPECIES.loopBound(len);
+		int i = 0;
+		
+		for (; i < upperBound; i += LANES) {
+			DoubleVector va = DoubleVector.fromArray(SPECIES, a, aOffset + i);
+			DoubleVector vb = DoubleVector.fromArray(SPECIES, b, bOffset + i);
+			DoubleVector vacc = DoubleVector.fromArray(SPECIES, acc, accOffset + i);
+			// mul + add separati (non fma) per lo stesso arrotondamento del kernel scalare
+			vacc.add(va.mul(vb)).intoArray(acc, accOffset + i);
+		}
+		for (; i < len; ++i) {
+			acc[accOffset + i] += a[aOffset + i] * b[bOffset + i];
+		}
+	}
+
+	@Override
+	public void scale(double[] a, int offset, double scalar, int len) {
+		int upperBound = SPECIES.loopBound(len);
+		int i = 0;
+		
+		for (; i < upperBound; i += LANES) {
+			DoubleVector.fromArray(SPECIES, a, offset + i).mul(scalar).intoArray(a, offset + i);
+		}
+		for (; i < len; ++i) {
+			a[offset + i] *= scalar;
+		}
+	}
+
+	@Override
+	public void blend(double[] a, int aOffset, double[] b, int bOffset, double alpha, double[] dst, int dstOffset, int len) {
+		int upperBound = SPECIES.loopBound(len);
+		int i = 0;
+		
+		for (; i < upperBound; i += LANES) {
+			DoubleVector va = DoubleVector.fromArray(SPECIES, a, aOffset + i);
+			DoubleVector vb = DoubleVector.fromArray(SPECIES, b, bOffset + i);
+			va.add(vb.sub(va).mul(alpha)).intoArray(dst, dstOffset + i);
+		}
+		for (; i < len; ++i) {
+			dst[dstOffset + i] = a[aOffset + i] + alpha * (b[bOffset + i] - a[aOffset + i]);
+		}
+	}
+
+	@Override
+	public void select(double[] a, int aOffset, double[] b, int bOffset, long bits, double[] dst, int dstOffset, int len) {
+		int upperBound = SPECIES.loopBound(len);
+		int i = 0;
+		
+		for (; i < upperBound; i += LANES) {
+			// Maschera dei lane dai bit [i, i + LANES)
+			VectorMask<Double> mask = VectorMask.fromLong(SPECIES, bits >>> i);
+			DoubleVector va = DoubleVector.fromArray(SPECIES, a, aOffset + i);
+			va.blend(DoubleVector.fromArray(SPECIES, b, bOffset + i), mask).intoArray(dst, dstOffset + i);
+		}
+		for (; i < len; ++i) {
+			dst[dstOffset + i] = (bits & (1L << i)) != 0 ? b[bOffset + i] : a[aOffset + i];
+		}
+	}
+
+	@Override
+	public void sigmoid(double[] a, int offset, int len) {
+		int upperBound = SPECIES.loopBound(len);
+		int i = 0;
+		
+		for (; i < upperBound; i += LANES) {
+			DoubleVector v = DoubleVector.fromArray(SPECIES, a, offset + i);
+			// 1 / (1 + e^-x) con esponenziale vettoriale
+			ONE.div(v.neg().lanewise(VectorOperators.EXP).add(1.0)).intoArray(a, offset + i);
+		}
+		for (; i < len; ++i) {
+			a[offset + i] = 1 / (1 + Math.exp(-a[offset + i]));
+		}
+	}
+
+}
\ No newline at end of file